@@ -0,0 +1,33 @@
+package com.project.demo;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.ConditionalOnMissingFilterBean;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.ForwardedHeaderFilter;
+
+/**
+ * The app runs behind a reverse proxy, so {@code getRemoteAddr()} is the proxy's address.
+ * {@link ForwardedHeaderFilter} replaces it (and the scheme and host) with what the proxy
+ * sends in {@code Forwarded} / {@code X-Forwarded-*}, ahead of every other filter, so the
+ * rate limiter keys anonymous clients on their own address. This is what
+ * {@code server.forward-headers-strategy=framework} does, made the default; set the
+ * property to {@code native} or {@code none} to turn it off.
+ * <p>
+ * The proxy must overwrite those headers rather than append to them, or clients could
+ * choose their own address.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.forward-headers-strategy", havingValue = "framework", matchIfMissing = true)
+public class ForwardedHeadersConfig {
+
+    @Bean
+    @ConditionalOnMissingFilterBean(ForwardedHeaderFilter.class)
+    public FilterRegistrationBean<ForwardedHeaderFilter> forwardedHeaderFilter() {
+        FilterRegistrationBean<ForwardedHeaderFilter> registration = new FilterRegistrationBean<>(new ForwardedHeaderFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
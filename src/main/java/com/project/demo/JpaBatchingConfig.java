@@ -0,0 +1,41 @@
+package com.project.demo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on JDBC batching now that entity ids come from pooled blocks instead of IDENTITY
+ * columns: Hibernate groups inserts and updates per table, and the MySQL driver rewrites
+ * each batch into a single multi-row statement.
+ */
+@Configuration
+public class JpaBatchingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernateProperties(@Value("${jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor rewriteBatchedStatements() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+                    dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -2,10 +2,15 @@ package com.project.demo.logic.entity.auth;
 
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Hibernate;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 @Service
 public class AuthenticationService {
@@ -13,28 +18,43 @@ public class AuthenticationService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final AuthenticationManager authenticationManager;
+    private final Timer passwordCheckTimer;
+
+    private final String dummyPassword;
 
     public AuthenticationService(
             UserRepository userRepository,
-            AuthenticationManager authenticationManager,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry
     ) {
-        this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.passwordCheckTimer = Timer.builder("auth.login.password-check")
+                .description("Time spent verifying BCrypt password hashes on login")
+                .register(meterRegistry);
+        this.dummyPassword = passwordEncoder.encode("userNotFoundPassword");
     }
 
-
+    @Transactional
     public User authenticate(User input) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        input.getEmail(),
-                        input.getPassword()
-                )
-        );
-
-        return userRepository.findByEmail(input.getEmail())
-                .orElseThrow();
+        Optional<User> foundUser = userRepository.findByEmail(input.getEmail());
+        String rawPassword = input.getPassword() == null ? "" : input.getPassword();
+
+        // Unknown emails still pay for a hash check so response times don't reveal which accounts exist
+        String encodedPassword = foundUser.map(User::getPassword).orElse(dummyPassword);
+        boolean matches = passwordCheckTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+
+        if (foundUser.isEmpty() || !matches) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        User user = foundUser.get();
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+        }
+
+        Hibernate.initialize(user.getOrders());
+        return user;
     }
 }
@@ -1,6 +1,8 @@
 package com.project.demo.logic.entity.auth;
 
+import com.project.demo.logic.entity.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,31 +11,70 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 @Service
 public class JwtService {
+    public static final String USER_ID_CLAIM = "id";
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${security.jwt.expiration-time}")
     private long jwtExpiration;
 
+    @Value("${security.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    private Key signInKey;
+
+    private JwtParser parser;
+
+    private VerifiedTokenCache verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+        signInKey = Keys.hmacShaKeyFor(keyBytes);
+        parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        verifiedTokens = new VerifiedTokenCache(verifiedCacheSize);
+    }
+
+    public VerifiedToken verify(String token) {
+        String key = verifiedTokens.key(token);
+        VerifiedToken verified = verifiedTokens.get(key);
+        if (verified != null) {
+            return verified;
+        }
+
+        verified = new VerifiedToken(extractAllClaims(token));
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = Jwts.claims(verify(token).getClaims());
         return claimsResolver.apply(claims);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getRole().getName().toString());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -52,37 +93,26 @@ public class JwtService {
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        final String username = token.getSubject();
+        return (username != null && username.equals(userDetails.getUsername())) && !token.isExpired();
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
@@ -0,0 +1,70 @@
+package com.project.demo.logic.entity.auth;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal rebuilt from the claims of a verified token, so authenticated requests
+ * don't need to load the {@code User} entity. Use {@link #getId()} to fetch the full
+ * user when an endpoint really needs it.
+ */
+public class JwtUserPrincipal implements UserDetails {
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+
+    public JwtUserPrincipal(Long id, String email, String role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
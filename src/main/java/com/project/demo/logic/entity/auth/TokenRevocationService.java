@@ -0,0 +1,80 @@
+package com.project.demo.logic.entity.auth;
+
+import com.project.demo.logic.entity.revokedToken.RevokedToken;
+import com.project.demo.logic.entity.revokedToken.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the ids of revoked tokens in memory: a Bloom filter answers the common
+ * "not revoked" case with a few bit probes, and only its positives are confirmed
+ * against the exact set. The persisted denylist is reloaded at startup and on every
+ * prune, which also picks up revocations made by other instances.
+ */
+@Service
+public class TokenRevocationService implements ApplicationListener<ContextRefreshedEvent> {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final int expectedRevocations;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${security.jwt.expected-revocations:100000}") int expectedRevocations
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
+        this.reload();
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    public void revoke(VerifiedToken token) {
+        if (token.getId() == null || token.isExpired()) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(token.getId(), token.getExpiration()));
+        synchronized (this) {
+            revoked.put(token.getId(), token.getExpirationMillis());
+            filter.add(token.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation-prune-interval-ms:600000}")
+    public void prune() {
+        revokedTokenRepository.deleteExpired(new Date());
+        this.reload();
+    }
+
+    private synchronized void reload() {
+        List<RevokedToken> active = revokedTokenRepository.findByExpiresAtAfter(new Date());
+        long now = System.currentTimeMillis();
+
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        active.forEach(token -> revoked.put(token.getJti(), token.getExpiresAt().getTime()));
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.demo.logic.entity.auth;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class VerifiedToken {
+    private final String id;
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    VerifiedToken(Claims claims) {
+        this.id = claims.getId();
+        this.subject = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.claims = Collections.unmodifiableMap(new HashMap<>(claims));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt == null ? null : new Date(issuedAt.getTime());
+    }
+
+    public Date getExpiration() {
+        return expiration == null ? null : new Date(expiration.getTime());
+    }
+
+    public long getExpirationMillis() {
+        return expiration == null ? Long.MAX_VALUE : expiration.getTime();
+    }
+
+    public boolean isExpired() {
+        return getExpirationMillis() <= System.currentTimeMillis();
+    }
+
+    public Long getUserId() {
+        Object id = claims.get(JwtService.USER_ID_CLAIM);
+        return id instanceof Number ? ((Number) id).longValue() : null;
+    }
+
+    public String getRole() {
+        Object role = claims.get(JwtService.ROLE_CLAIM);
+        return role == null ? null : role.toString();
+    }
+
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+
+    public Map<String, Object> getClaims() {
+        return claims;
+    }
+}
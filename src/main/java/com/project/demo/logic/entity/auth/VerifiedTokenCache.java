@@ -0,0 +1,116 @@
+package com.project.demo.logic.entity.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of tokens whose signature has already been checked, keyed by the
+ * SHA-256 digest of the compact token so raw bearer tokens are never kept in memory.
+ * Callers compute the digest once with {@link #key} and use it for both the lookup and
+ * the insert. Entries are dropped once the token's {@code exp} has passed.
+ * <p>
+ * The entries are split over access-ordered segments picked by digest, so a full cache
+ * evicts its least recently used token in O(1) and concurrent requests rarely wait on
+ * the same lock.
+ */
+class VerifiedTokenCache {
+    private static final int SEGMENTS = 16;
+
+    private final int maxEntries;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * The cache key for {@code token}, or null when caching is off.
+     */
+    String key(String token) {
+        return maxEntries <= 0 ? null : digest(token);
+    }
+
+    VerifiedToken get(String key) {
+        if (key == null) {
+            return null;
+        }
+        return segment(key).get(key);
+    }
+
+    void put(String key, VerifiedToken verified) {
+        if (key == null || verified.isExpired()) {
+            return;
+        }
+        segment(key).put(key, verified);
+    }
+
+    void remove(String key) {
+        if (key != null) {
+            segment(key).remove(key);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segment(String key) {
+        return segments[key.hashCode() & (SEGMENTS - 1)];
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Segment {
+        private final Map<String, VerifiedToken> entries;
+
+        Segment(int maxEntries) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                    return size() > maxEntries || eldest.getValue().isExpired();
+                }
+            };
+        }
+
+        synchronized VerifiedToken get(String key) {
+            VerifiedToken verified = entries.get(key);
+            if (verified != null && verified.isExpired()) {
+                entries.remove(key);
+                return null;
+            }
+            return verified;
+        }
+
+        synchronized void put(String key, VerifiedToken verified) {
+            entries.put(key, verified);
+        }
+
+        synchronized void remove(String key) {
+            entries.remove(key);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
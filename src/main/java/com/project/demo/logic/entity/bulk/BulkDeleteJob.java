@@ -0,0 +1,89 @@
+package com.project.demo.logic.entity.bulk;
+
+import java.util.Date;
+
+/**
+ * Progress of an asynchronous aggregate delete, as reported by the status endpoint.
+ * Written by the single worker running it and read by request threads.
+ */
+public class BulkDeleteJob {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final String id;
+    private final BulkDeleteTarget target;
+    private final Long targetId;
+    private final Date createdAt = new Date();
+    private volatile String status = QUEUED;
+    private volatile long total;
+    private volatile long deleted;
+    private volatile String error;
+    private volatile Date finishedAt;
+
+    BulkDeleteJob(String id, BulkDeleteTarget target, Long targetId) {
+        this.id = id;
+        this.target = target;
+        this.targetId = targetId;
+    }
+
+    void started(long total) {
+        this.total = total;
+        this.status = RUNNING;
+    }
+
+    void deleted(long rows) {
+        deleted += rows;
+    }
+
+    void completed() {
+        finishedAt = new Date();
+        status = COMPLETED;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        finishedAt = new Date();
+        status = FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public BulkDeleteTarget getTarget() {
+        return target;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Rows the delete expects to remove, counted when it started.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Date getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.demo.logic.entity.bulk;
+
+import com.project.demo.logic.entity.category.CategoryStatsRollup;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.order.OrderRollupService;
+import com.project.demo.logic.entity.producto.ProductoSearchIndex;
+import com.project.demo.logic.entity.responseCache.ResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import com.project.demo.logic.exceptions.ReferencedAggregateException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes a whole aggregate (a category with its productos, a user with its orders, ...)
+ * with one {@code DELETE ... WHERE parent_id = ?} per table instead of letting the
+ * cascade load every child into the persistence context and remove it row by row.
+ * <p>
+ * {@link #delete} runs every statement in one transaction. {@link #submit} runs them in
+ * the background in chunks of {@code bulk.delete.chunk-size} rows, each committed on its
+ * own so a huge aggregate never holds long locks, and reports progress through
+ * {@link BulkDeleteJob}. The root row goes last, so a job that fails midway can simply be
+ * submitted again.
+ * <p>
+ * Both refuse an aggregate that rows outside it still reference, such as a category whose
+ * productos have been ordered, with a {@link ReferencedAggregateException}.
+ * <p>
+ * These statements bypass the entity listeners, so the order rollups are adjusted before
+ * the rows go, and the caches, the search index and the category stats are brought back
+ * in step once they are gone.
+ */
+@Service
+public class BulkDeleteService {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CountCache countCache;
+    private final ResponseCache responseCache;
+    private final ProductoSearchIndex productoSearchIndex;
+    private final CategoryStatsRollup categoryStatsRollup;
+    private final OrderRollupService orderRollupService;
+    private final int chunkSize;
+    private final long jobRetentionMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, BulkDeleteJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkDeleteService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            CountCache countCache,
+            ResponseCache responseCache,
+            ProductoSearchIndex productoSearchIndex,
+            CategoryStatsRollup categoryStatsRollup,
+            OrderRollupService orderRollupService,
+            MeterRegistry meterRegistry,
+            @Value("${bulk.delete.chunk-size:5000}") int chunkSize,
+            @Value("${bulk.delete.queue-capacity:16}") int queueCapacity,
+            @Value("${bulk.delete.job-retention-ms:3600000}") long jobRetentionMillis
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.countCache = countCache;
+        this.responseCache = responseCache;
+        this.productoSearchIndex = productoSearchIndex;
+        this.categoryStatsRollup = categoryStatsRollup;
+        this.orderRollupService = orderRollupService;
+        this.chunkSize = chunkSize;
+        this.jobRetentionMillis = jobRetentionMillis;
+        // One worker: deletes of this size compete for the same locks and undo log anyway
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-delete");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "bulk-delete");
+    }
+
+    /**
+     * Deletes the aggregate in a single transaction and returns the number of rows removed.
+     */
+    public long delete(BulkDeleteTarget target, Long id) {
+        long deleted;
+        try {
+            deleted = transactionTemplate.execute(status -> {
+                checkNotReferenced(target, id);
+                beforeDelete(target, id);
+                long rows = 0;
+                for (BulkDeleteTarget.Step step : target.getSteps()) {
+                    rows += jdbcTemplate.update(step.deleteSql(), id);
+                }
+                return rows;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A reference added after the check; the transaction rolled back
+            throw new ReferencedAggregateException(target, id, e);
+        }
+        afterDelete(target, id, true);
+        return deleted;
+    }
+
+    /**
+     * Queues the delete to run in chunks; fails with a RejectedExecutionException when too
+     * many are already waiting.
+     */
+    public BulkDeleteJob submit(BulkDeleteTarget target, Long id) {
+        checkNotReferenced(target, id);
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.getFinishedAt() != null
+                && now - job.getFinishedAt().getTime() > jobRetentionMillis);
+
+        BulkDeleteJob job = new BulkDeleteJob(UUID.randomUUID().toString(), target, id);
+        executor.execute(() -> run(job));
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public Optional<BulkDeleteJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(BulkDeleteJob job) {
+        BulkDeleteTarget target = job.getTarget();
+        Long id = job.getTargetId();
+        boolean completed = false;
+        try {
+            checkNotReferenced(target, id);
+            long total = 0;
+            for (BulkDeleteTarget.Step step : target.getSteps()) {
+                total += jdbcTemplate.queryForObject(step.countSql(), Long.class, id);
+            }
+            job.started(total);
+
+            transactionTemplate.executeWithoutResult(status -> beforeDelete(target, id));
+
+            for (BulkDeleteTarget.Step step : target.getSteps()) {
+                int deleted;
+                do {
+                    deleted = transactionTemplate.execute(status ->
+                            jdbcTemplate.update(step.chunkedDeleteSql(), id, chunkSize));
+                    job.deleted(deleted);
+                } while (deleted == chunkSize);
+            }
+            job.completed();
+            completed = true;
+        } catch (RuntimeException e) {
+            job.failed(e.getMessage());
+        } finally {
+            afterDelete(target, id, completed);
+        }
+    }
+
+    private void checkNotReferenced(BulkDeleteTarget target, Long id) {
+        for (BulkDeleteTarget.Step reference : target.getReferences()) {
+            long rows = jdbcTemplate.queryForObject(reference.countSql(), Long.class, id);
+            if (rows > 0) {
+                throw new ReferencedAggregateException(target, id, reference.getEntityName(), rows);
+            }
+        }
+    }
+
+    private void beforeDelete(BulkDeleteTarget target, Long id) {
+        if (target == BulkDeleteTarget.USER) {
+            orderRollupService.removeUser(id);
+        }
+    }
+
+    /**
+     * @param completed false when a chunked delete stopped partway, leaving an unknown
+     *                  part of the aggregate behind
+     */
+    private void afterDelete(BulkDeleteTarget target, Long id, boolean completed) {
+        for (BulkDeleteTarget.Step step : target.getSteps()) {
+            countCache.invalidate(step.getEntityName());
+        }
+        if (target == BulkDeleteTarget.CATEGORY) {
+            responseCache.evictCategory(id);
+            if (completed) {
+                productoSearchIndex.deleteCategory(id);
+                categoryStatsRollup.removeCategory(id);
+            } else {
+                productoSearchIndex.rebuild();
+                categoryStatsRollup.reconcile();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.demo.logic.entity.bulk;
+
+import java.util.List;
+
+/**
+ * The aggregates that can be deleted with set-based statements, each as the row sets to
+ * remove in order: children before their parents, the root last. Every set is selected
+ * by the root id alone. Rows outside the aggregate that still point into it are listed
+ * as references, and any of them blocks the delete.
+ */
+public enum BulkDeleteTarget {
+    CATEGORY(List.of(
+            new Step("Producto", "producto WHERE category_id = ?"),
+            new Step("Category", "category WHERE id = ?")),
+            List.of(new Step("OrderItem", "order_item WHERE producto_id IN (SELECT id FROM producto WHERE category_id = ?)"))),
+    GIFT_LIST(List.of(
+            new Step("Gift", "gift WHERE gift_list_id = ?"),
+            new Step("GiftList", "gift_list WHERE id = ?"))),
+    TEAM(List.of(
+            new Step("Player", "player WHERE team_id = ?"),
+            new Step("Team", "team WHERE id = ?"))),
+    USER(List.of(
+            new Step("ArchivedOrderItem", "order_item_archive WHERE order_id IN (SELECT id FROM order_archive WHERE user_id = ?)"),
+            new Step("ArchivedOrder", "order_archive WHERE user_id = ?"),
+            new Step("OrderItem", "order_item WHERE order_id IN (SELECT id FROM `order` WHERE user_id = ?)"),
+            new Step("Order", "`order` WHERE user_id = ?"),
+            new Step("User", "user WHERE id = ?")));
+
+    private final List<Step> steps;
+    private final List<Step> references;
+
+    BulkDeleteTarget(List<Step> steps) {
+        this(steps, List.of());
+    }
+
+    BulkDeleteTarget(List<Step> steps, List<Step> references) {
+        this.steps = steps;
+        this.references = references;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    /**
+     * The rows outside the aggregate whose foreign keys would stop the steps.
+     */
+    public List<Step> getReferences() {
+        return references;
+    }
+
+    public static class Step {
+        private final String entityName;
+        private final String rows;
+
+        /**
+         * @param entityName the entity whose counts the step invalidates
+         * @param rows       {@code FROM} clause selecting the rows, with the root id as its only parameter
+         */
+        Step(String entityName, String rows) {
+            this.entityName = entityName;
+            this.rows = rows;
+        }
+
+        public String getEntityName() {
+            return entityName;
+        }
+
+        public String deleteSql() {
+            return "DELETE FROM " + rows;
+        }
+
+        public String chunkedDeleteSql() {
+            return "DELETE FROM " + rows + " LIMIT ?";
+        }
+
+        public String countSql() {
+            return "SELECT COUNT(*) FROM " + rows;
+        }
+    }
+}
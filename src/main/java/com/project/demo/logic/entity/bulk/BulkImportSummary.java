@@ -0,0 +1,65 @@
+package com.project.demo.logic.entity.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of an import too large to report row by row: counts for every row, details
+ * only for the rows that failed, up to a limit.
+ */
+public class BulkImportSummary {
+    private final int maxReportedErrors;
+    private long imported;
+    private long created;
+    private long updated;
+    private long failed;
+    private final List<BulkRowResult> errors = new ArrayList<>();
+
+    public BulkImportSummary(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Records a written row; {@code status} is {@link BulkRowResult#CREATED},
+     * {@link BulkRowResult#UPDATED} or null when the database didn't say which.
+     */
+    public void imported(String status) {
+        imported++;
+        if (BulkRowResult.CREATED.equals(status)) {
+            created++;
+        } else if (BulkRowResult.UPDATED.equals(status)) {
+            updated++;
+        }
+    }
+
+    public void failed(BulkRow row, String key, String message) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new BulkRowResult(row.getRowNumber(), key, BulkRowResult.FAILED, message));
+        }
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<BulkRowResult> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+}
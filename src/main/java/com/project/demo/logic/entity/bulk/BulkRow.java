@@ -0,0 +1,28 @@
+package com.project.demo.logic.entity.bulk;
+
+import java.util.Map;
+
+public class BulkRow {
+    private final long rowNumber;
+    private final Map<String, String> values;
+    private final String parseError;
+
+    public BulkRow(long rowNumber, Map<String, String> values, String parseError) {
+        this.rowNumber = rowNumber;
+        this.values = values;
+        this.parseError = parseError;
+    }
+
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    public String get(String column) {
+        String value = values == null ? null : values.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    public String getParseError() {
+        return parseError;
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.demo.logic.entity.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an NDJSON or CSV upload one line at a time, so an import only ever holds the
+ * current batch in memory. CSV uploads must start with a header row naming the columns.
+ */
+public class BulkRowReader {
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long rowNumber;
+
+    public BulkRowReader(InputStream inputStream, String contentType, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.csv = contentType != null && contentType.startsWith(CSV);
+        this.objectMapper = objectMapper;
+    }
+
+    public List<BulkRow> nextBatch(int size) {
+        List<BulkRow> batch = new ArrayList<>(size);
+        try {
+            String line;
+            while (batch.size() < size && (line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = splitCsv(line);
+                    continue;
+                }
+                rowNumber++;
+                batch.add(csv ? csvRow(line) : jsonRow(line));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return batch;
+    }
+
+    private BulkRow jsonRow(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                return new BulkRow(rowNumber, null, "Row is not a JSON object");
+            }
+            Map<String, String> values = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isNull()) {
+                    values.put(field.getKey(), field.getValue().asText());
+                }
+            }
+            return new BulkRow(rowNumber, values, null);
+        } catch (JsonProcessingException e) {
+            return new BulkRow(rowNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private BulkRow csvRow(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != header.size()) {
+            return new BulkRow(rowNumber, null, "Expected " + header.size() + " columns but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            values.put(header.get(i), fields.get(i));
+        }
+        return new BulkRow(rowNumber, values, null);
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.demo.logic.entity.bulk;
+
+public class BulkRowResult {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String SKIPPED = "skipped";
+    public static final String FAILED = "failed";
+
+    private long row;
+    private String key;
+    private String status;
+    private String message;
+
+    public BulkRowResult(long row, String key, String status, String message) {
+        this.row = row;
+        this.key = key;
+        this.status = status;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -1,26 +1,42 @@
 package com.project.demo.logic.entity.category;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.project.demo.logic.entity.producto.Producto;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.producto.ProductoSearchIndexListener;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 @Table(name = "category")
 @Entity
+@EntityListeners({CountCacheInvalidator.class, ProductoSearchIndexListener.class})
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("category")
     private Long id;
     private String name;
     private String description;
 
+    // Productos embed their category, so their ETags include this too
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnoreProperties("category")
     private List<Producto> productos = new ArrayList<>();
 
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CategoryStats stats;
+
     public Category() {
     }
 
@@ -52,4 +68,20 @@ public class Category {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public CategoryStats getStats() {
+        return stats;
+    }
+
+    public void setStats(CategoryStats stats) {
+        this.stats = stats;
+    }
 }
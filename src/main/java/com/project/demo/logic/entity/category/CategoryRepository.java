@@ -1,7 +1,21 @@
 package com.project.demo.logic.entity.category;
 
 import com.project.demo.logic.entity.category.Category;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    Slice<Category> findAllBy(Pageable pageable);
+
+    Window<Category> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    List<Category> findByNameIn(Collection<String> names);
 }
@@ -0,0 +1,64 @@
+package com.project.demo.logic.entity.category;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Aggregates over the productos of one category, as kept by {@link CategoryStatsRollup}.
+ * Price figures only consider productos that have a price.
+ */
+public class CategoryStats {
+    public static final CategoryStats EMPTY = new CategoryStats(0, 0, null, null, null);
+
+    private final long productCount;
+    private final long totalStock;
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final BigDecimal avgPrice;
+
+    public CategoryStats(long productCount, long totalStock, BigDecimal minPrice, BigDecimal maxPrice, BigDecimal avgPrice) {
+        this.productCount = productCount;
+        this.totalStock = totalStock;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.avgPrice = avgPrice;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getTotalStock() {
+        return totalStock;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public BigDecimal getAvgPrice() {
+        return avgPrice;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CategoryStats that)) return false;
+        return productCount == that.productCount && totalStock == that.totalStock
+                && samePrice(minPrice, that.minPrice) && samePrice(maxPrice, that.maxPrice)
+                && samePrice(avgPrice, that.avgPrice);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productCount, totalStock);
+    }
+
+    private static boolean samePrice(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
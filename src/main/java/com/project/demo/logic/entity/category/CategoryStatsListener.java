@@ -0,0 +1,32 @@
+package com.project.demo.logic.entity.category;
+
+import com.project.demo.logic.entity.producto.Producto;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@link Producto} feeding {@link CategoryStatsRollup}.
+ */
+@Component
+public class CategoryStatsListener {
+    private final CategoryStatsRollup categoryStatsRollup;
+
+    public CategoryStatsListener(@Lazy CategoryStatsRollup categoryStatsRollup) {
+        this.categoryStatsRollup = categoryStatsRollup;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Producto producto) {
+        categoryStatsRollup.put(new ProductoStatsRow(producto.getId(), producto.getCategory().getId(),
+                producto.getPrice(), producto.getStock()));
+    }
+
+    @PostRemove
+    public void onRemove(Producto producto) {
+        categoryStatsRollup.remove(producto.getId());
+    }
+}
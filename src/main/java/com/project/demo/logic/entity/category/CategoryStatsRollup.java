@@ -0,0 +1,252 @@
+package com.project.demo.logic.entity.category;
+
+import com.project.demo.logic.entity.producto.ProductoRepository;
+import com.project.demo.logic.entity.responseCache.ResponseCache;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Per-category product count, stock total and min/max/avg price, kept in memory and
+ * updated from each committed producto write by {@link CategoryStatsListener}, so
+ * reading them never scans {@code producto}.
+ * <p>
+ * The last seen price, stock and category of every producto are kept alongside, which
+ * lets an update or a move between categories be applied as remove-then-add; prices are
+ * held in a sorted multiset per category so min and max survive deletes. Writes that
+ * bypass JPA (bulk SQL, other instances) are picked up by {@link #reconcile()}, which
+ * reloads everything on a schedule.
+ * <p>
+ * The first load runs at startup. If it fails the app still starts with empty stats, and
+ * the load is retried every {@code categories.stats.retry-interval-ms} until it succeeds.
+ */
+@Component
+public class CategoryStatsRollup implements ApplicationListener<ContextRefreshedEvent> {
+    private final ProductoRepository productoRepository;
+    private final ResponseCache responseCache;
+    private final TransactionTemplate readTransaction;
+
+    private Map<Long, ProductoStatsRow> productos = new HashMap<>();
+    private Map<Long, Totals> categories = new HashMap<>();
+    private Set<Long> touchedDuringReload;
+    private Set<Long> categoriesRemovedDuringReload;
+    private volatile boolean loaded;
+
+    public CategoryStatsRollup(
+            ProductoRepository productoRepository,
+            ResponseCache responseCache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.productoRepository = productoRepository;
+        this.responseCache = responseCache;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
+        this.loadIfMissing();
+    }
+
+    @Scheduled(fixedDelayString = "${categories.stats.retry-interval-ms:30000}", initialDelayString = "${categories.stats.retry-interval-ms:30000}")
+    public void loadIfMissing() {
+        if (loaded) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized CategoryStats get(Long categoryId) {
+        Totals totals = categories.get(categoryId);
+        return totals == null ? CategoryStats.EMPTY : totals.toStats();
+    }
+
+    public void put(ProductoStatsRow row) {
+        afterCommit(() -> apply(row.getProductoId(), row));
+    }
+
+    public void remove(Long productoId) {
+        afterCommit(() -> apply(productoId, null));
+    }
+
+    /**
+     * Applies a stock change made with bulk SQL, such as a checkout reservation.
+     */
+    public void adjustStock(Long productoId, int delta) {
+        afterCommit(() -> {
+            synchronized (this) {
+                ProductoStatsRow current = productos.get(productoId);
+                if (current != null) {
+                    apply(productoId, new ProductoStatsRow(productoId, current.getCategoryId(),
+                            current.getPrice(), current.getStock() + delta));
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops a category deleted with bulk SQL. The rows of its productos are left for the
+     * next {@link #reconcile()} to clear.
+     */
+    public void removeCategory(Long categoryId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                categories.remove(categoryId);
+                if (categoriesRemovedDuringReload != null) {
+                    categoriesRemovedDuringReload.add(categoryId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reloads every producto and swaps the result in, evicting cached category responses
+     * if any aggregate had drifted. Writes committed while the reload runs are re-read
+     * afterwards so the swap can't lose them.
+     */
+    @Scheduled(fixedDelayString = "${categories.stats.reconcile-interval-ms:900000}", initialDelayString = "${categories.stats.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        synchronized (this) {
+            touchedDuringReload = new HashSet<>();
+            categoriesRemovedDuringReload = new HashSet<>();
+        }
+
+        Map<Long, ProductoStatsRow> reloaded = new HashMap<>();
+        try {
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<ProductoStatsRow> rows = productoRepository.streamStatsRows()) {
+                    rows.forEach(row -> reloaded.put(row.getProductoId(), row));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Keep the current stats; stop tracking writes for a swap that won't happen
+            synchronized (this) {
+                touchedDuringReload = null;
+                categoriesRemovedDuringReload = null;
+            }
+            throw e;
+        }
+        Map<Long, Totals> rebuilt = new HashMap<>();
+        reloaded.values().forEach(row -> rebuilt.computeIfAbsent(row.getCategoryId(), id -> new Totals()).add(row));
+
+        Set<Long> touched;
+        boolean drifted;
+        synchronized (this) {
+            // The reload may have read a category before its bulk delete
+            rebuilt.keySet().removeAll(categoriesRemovedDuringReload);
+            categoriesRemovedDuringReload = null;
+            drifted = !sameStats(categories, rebuilt);
+            productos = reloaded;
+            categories = rebuilt;
+            loaded = true;
+            touched = touchedDuringReload;
+            touchedDuringReload = null;
+        }
+
+        if (!touched.isEmpty()) {
+            readTransaction.executeWithoutResult(status -> touched.forEach(productoId ->
+                    apply(productoId, productoRepository.findStatsRow(productoId).orElse(null))));
+        }
+        if (drifted) {
+            responseCache.evictCategoryLists();
+        }
+    }
+
+    private synchronized void apply(Long productoId, ProductoStatsRow row) {
+        if (touchedDuringReload != null) {
+            touchedDuringReload.add(productoId);
+        }
+        ProductoStatsRow previous = row == null ? productos.remove(productoId) : productos.put(productoId, row);
+        if (previous != null) {
+            Totals totals = categories.get(previous.getCategoryId());
+            if (totals != null && totals.remove(previous) == 0) {
+                categories.remove(previous.getCategoryId());
+            }
+        }
+        if (row != null) {
+            categories.computeIfAbsent(row.getCategoryId(), id -> new Totals()).add(row);
+        }
+    }
+
+    private static boolean sameStats(Map<Long, Totals> a, Map<Long, Totals> b) {
+        if (!a.keySet().equals(b.keySet())) {
+            return false;
+        }
+        for (Map.Entry<Long, Totals> entry : a.entrySet()) {
+            if (!entry.getValue().toStats().equals(b.get(entry.getKey()).toStats())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Totals {
+        private long count;
+        private long stock;
+        private BigDecimal priceSum = BigDecimal.ZERO;
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+        private int pricedCount;
+
+        void add(ProductoStatsRow row) {
+            count++;
+            stock += row.getStock();
+            if (row.getPrice() != null) {
+                pricedCount++;
+                priceSum = priceSum.add(row.getPrice());
+                prices.merge(row.getPrice(), 1, Integer::sum);
+            }
+        }
+
+        long remove(ProductoStatsRow row) {
+            count--;
+            stock -= row.getStock();
+            if (row.getPrice() != null) {
+                pricedCount--;
+                priceSum = priceSum.subtract(row.getPrice());
+                prices.computeIfPresent(row.getPrice(), (price, n) -> n == 1 ? null : n - 1);
+            }
+            return count;
+        }
+
+        CategoryStats toStats() {
+            if (pricedCount == 0) {
+                return new CategoryStats(count, stock, null, null, null);
+            }
+            return new CategoryStats(count, stock, prices.firstKey(), prices.lastKey(),
+                    priceSum.divide(BigDecimal.valueOf(pricedCount), 2, RoundingMode.HALF_UP));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.demo.logic.entity.category;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of a producto that feed {@link CategoryStatsRollup}.
+ */
+public class ProductoStatsRow {
+    public static final String NAME = "com.project.demo.logic.entity.category.ProductoStatsRow";
+
+    private final Long productoId;
+    private final Long categoryId;
+    private final BigDecimal price;
+    private final int stock;
+
+    public ProductoStatsRow(Long productoId, Long categoryId, BigDecimal price, int stock) {
+        this.productoId = productoId;
+        this.categoryId = categoryId;
+        this.price = price;
+        this.stock = stock;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+}
@@ -0,0 +1,161 @@
+package com.project.demo.logic.entity.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.http.StreamingQueries;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full-table dumps for the admin export endpoints. Rows are read as plain JDBC values from
+ * a forward-only, read-only cursor and encoded straight to the output stream, so nothing
+ * is held per row: there are no entities and no persistence context to grow. Writes block
+ * while the client is slow to read, which in turn holds back the cursor.
+ */
+@Service
+public class ExportService {
+    private static final String PRODUCTOS = "SELECT p.id, p.sku, p.name, p.description, p.price, p.stock, "
+            + "p.category_id, c.name AS category, p.created_at, p.updated_at "
+            + "FROM producto p LEFT JOIN category c ON c.id = p.category_id ORDER BY p.id";
+    // Hot orders, then archived ones; a global ORDER BY would make the database sort both before sending a row
+    private static final String ORDERS = "SELECT o.id, o.user_id, o.description, o.total, o.created_at FROM `order` o "
+            + "UNION ALL SELECT a.id, a.user_id, a.description, a.total, a.created_at FROM order_archive a";
+    private static final String USERS = "SELECT u.id, u.name, u.lastname, u.email, r.name AS role, u.created_at, u.updated_at "
+            + "FROM user u LEFT JOIN rol r ON r.id = u.role_id ORDER BY u.id";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            StreamingQueries streamingQueries
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(streamingQueries.fetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportProductos(ExportFormat format, boolean gzip, OutputStream outputStream) throws IOException {
+        export(PRODUCTOS, format, gzip, outputStream);
+    }
+
+    public void exportOrders(ExportFormat format, boolean gzip, OutputStream outputStream) throws IOException {
+        export(ORDERS, format, gzip, outputStream);
+    }
+
+    public void exportUsers(ExportFormat format, boolean gzip, OutputStream outputStream) throws IOException {
+        export(USERS, format, gzip, outputStream);
+    }
+
+    private void export(String sql, ExportFormat format, boolean gzip, OutputStream outputStream) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : outputStream;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(sql, (ResultSet resultSet) -> {
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(resultSet, target);
+                    } else {
+                        writeNdjson(resultSet, target);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+        outputStream.flush();
+    }
+
+    private static void writeCsv(ResultSet resultSet, OutputStream outputStream) throws SQLException, IOException {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columns = metaData.getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            writeCsvField(writer, metaData.getColumnLabel(i).toLowerCase());
+        }
+        writer.write("\r\n");
+        while (resultSet.next()) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = value(resultSet.getObject(i));
+                if (value != null) {
+                    writeCsvField(writer, value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvField(Writer writer, String field) throws IOException {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeNdjson(ResultSet resultSet, OutputStream outputStream) throws SQLException, IOException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columns = metaData.getColumnCount();
+        String[] names = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            names[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+        }
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.setRootValueSeparator(null);
+            while (resultSet.next()) {
+                generator.writeStartObject();
+                for (int i = 0; i < columns; i++) {
+                    generator.writeFieldName(names[i]);
+                    generator.writeObject(value(resultSet.getObject(i + 1)));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    /**
+     * Timestamps go out as ISO-8601 instants, like the JSON API renders them.
+     */
+    private static Object value(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toInstant().toString() : value;
+    }
+}
@@ -1,6 +1,10 @@
 package com.project.demo.logic.entity.game;
 
+import com.project.demo.logic.entity.http.ListVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface GameRepository extends JpaRepository<Game, Long> {
+    @Query("SELECT new " + ListVersion.NAME + "(COUNT(g), MAX(g.updatedAt)) FROM Game g")
+    ListVersion findListVersion();
 }
@@ -2,6 +2,8 @@ package com.project.demo.logic.entity.gift;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.project.demo.logic.entity.giftList.GiftList;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -11,9 +13,10 @@ import java.util.Date;
 
 @Table(name = "gift")
 @Entity
+@EntityListeners(CountCacheInvalidator.class)
 public class Gift {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("gift")
     private Long id;
 
     @Column(nullable = false)
@@ -33,7 +36,7 @@ public class Gift {
     @Column(name = "updated_at")
     private Date updatedAt;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "gift_list_id", referencedColumnName = "id", nullable = false)
     @JsonIgnoreProperties("gifts")
     private GiftList giftList;
@@ -91,4 +94,20 @@ public class Gift {
     public void setGiftList(GiftList giftList) {
         this.giftList = giftList;
     }
-}
\ No newline at end of file
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,9 +1,44 @@
 package com.project.demo.logic.entity.gift;
 
-import org.springframework.data.domain.Page;
+import com.project.demo.logic.entity.http.ItemVersion;
+import com.project.demo.logic.entity.http.ListVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface GiftRepository extends JpaRepository<Gift, Long> {
-    Page<Gift> findByGiftListId(Long giftListId, Pageable pageable);
-}
\ No newline at end of file
+import java.util.Optional;
+
+public interface GiftRepository extends JpaRepository<Gift, Long>, GiftStreamingRepository {
+    @EntityGraph(attributePaths = "giftList")
+    Slice<Gift> findByGiftListId(Long giftListId, Pageable pageable);
+
+    long countByGiftListId(Long giftListId);
+
+    @EntityGraph(attributePaths = "giftList")
+    Slice<Gift> findAllBy(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "giftList")
+    Optional<Gift> findById(Long id);
+
+    @EntityGraph(attributePaths = "giftList")
+    Window<Gift> findByGiftListId(Long giftListId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "giftList")
+    Window<Gift> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("SELECT new " + ItemVersion.NAME + "(g.updatedAt, l.updatedAt) FROM Gift g JOIN g.giftList l WHERE g.id = ?1")
+    Optional<ItemVersion> findVersionById(Long id);
+
+    @Query("SELECT new " + ListVersion.NAME + "(COUNT(g), MAX(g.updatedAt), MAX(l.updatedAt)) FROM Gift g JOIN g.giftList l")
+    ListVersion findListVersion();
+
+    @Query("SELECT new " + ListVersion.NAME + "(COUNT(g), MAX(g.updatedAt), MAX(l.updatedAt)) FROM Gift g JOIN g.giftList l WHERE l.id = ?1")
+    ListVersion findListVersionByGiftListId(Long giftListId);
+}
@@ -0,0 +1,12 @@
+package com.project.demo.logic.entity.gift;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+/**
+ * Queries read through a cursor with {@link com.project.demo.logic.entity.http.StreamingQueries}.
+ */
+public interface GiftStreamingRepository {
+    Stream<Gift> streamAllBy(Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.project.demo.logic.entity.gift;
+
+import com.project.demo.logic.entity.http.StreamingQueries;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+class GiftStreamingRepositoryImpl implements GiftStreamingRepository {
+    private final StreamingQueries streamingQueries;
+
+    GiftStreamingRepositoryImpl(StreamingQueries streamingQueries) {
+        this.streamingQueries = streamingQueries;
+    }
+
+    @Override
+    public Stream<Gift> streamAllBy(Pageable pageable) {
+        return streamingQueries.createQuery("SELECT g FROM Gift g LEFT JOIN FETCH g.giftList ORDER BY g.id", Gift.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream();
+    }
+}
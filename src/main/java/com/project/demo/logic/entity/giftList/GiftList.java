@@ -2,22 +2,32 @@ package com.project.demo.logic.entity.giftList;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.project.demo.logic.entity.gift.Gift;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 @Table(name = "gift_list")
 @Entity
+@EntityListeners(CountCacheInvalidator.class)
 public class GiftList {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("gift_list")
     private Long id;
 
     private String name;
 
     private String description;
 
+    // Gifts embed their list, so their ETags include this too
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
     @OneToMany(mappedBy = "giftList", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnoreProperties("giftList")
     private List<Gift> gifts = new ArrayList<>();
@@ -44,4 +54,12 @@ public class GiftList {
     public void setName(String name) {
         this.name = name;
     }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Date updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -1,6 +1,15 @@
 package com.project.demo.logic.entity.giftList;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface GiftListRepository extends JpaRepository<GiftList, Long> {
+    Slice<GiftList> findAllBy(Pageable pageable);
+
+    Window<GiftList> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
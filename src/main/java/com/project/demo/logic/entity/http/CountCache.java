@@ -0,0 +1,129 @@
+package com.project.demo.logic.entity.http;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caches the row counts behind {@link Meta#getTotalElements()} so list endpoints don't
+ * run a COUNT(*) for every page, and the {@link ListVersion}s behind list ETags. Keys are
+ * the entity name, optionally followed by a filter such as {@code Producto:category=5}.
+ * Entries are dropped by {@link CountCacheInvalidator} when rows are written and expire
+ * after a short TTL to pick up writes made by other instances.
+ */
+@Component
+public class CountCache {
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, VersionEntry> versions = new ConcurrentHashMap<>();
+
+    public CountCache(@Value("${pagination.count-cache-ttl-ms:30000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Total get(String key, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttlMillis) {
+            return new Total(entry.count, false);
+        }
+        long count = counter.getAsLong();
+        entries.put(key, new Entry(count, now));
+        return new Total(count, true);
+    }
+
+    /**
+     * The cached version of a list scope, loading it on a miss. The version's count is the
+     * scope's row count, so it also refreshes the count cached under the same key.
+     */
+    public ListVersion version(String key, Supplier<ListVersion> loader) {
+        VersionEntry entry = versions.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt < ttlMillis) {
+            return entry.version;
+        }
+        return refreshVersion(key, loader);
+    }
+
+    /**
+     * Loads the version of a list scope from the database and caches it.
+     */
+    public ListVersion refreshVersion(String key, Supplier<ListVersion> loader) {
+        long now = System.currentTimeMillis();
+        ListVersion version = loader.get();
+        versions.put(key, new VersionEntry(version, now));
+        entries.put(key, new Entry(version.getCount(), now));
+        return version;
+    }
+
+    /**
+     * Drops every count and version for the entity, filtered or not; used when rows are
+     * inserted or deleted.
+     */
+    public void invalidate(String entityName) {
+        entries.keySet().removeIf(key -> matches(key, entityName));
+        versions.keySet().removeIf(key -> matches(key, entityName));
+    }
+
+    /**
+     * Drops the filtered counts and every version for the entity; an update can move a
+     * row between filters but never changes the total, while it always moves the newest
+     * {@code updatedAt}.
+     */
+    public void invalidateFiltered(String entityName) {
+        entries.keySet().removeIf(key -> key.startsWith(entityName + ":"));
+        versions.keySet().removeIf(key -> matches(key, entityName));
+    }
+
+    private static boolean matches(String key, String entityName) {
+        return key.equals(entityName) || key.startsWith(entityName + ":");
+    }
+
+    public static class Total {
+        private final long value;
+        private final boolean exact;
+
+        Total(long value, boolean exact) {
+            this.value = value;
+            this.exact = exact;
+        }
+
+        /**
+         * A count taken without the cache, for filters too varied to keep entries for.
+         */
+        public static Total exact(long value) {
+            return new Total(value, true);
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        public boolean isExact() {
+            return exact;
+        }
+    }
+
+    private static class Entry {
+        private final long count;
+        private final long loadedAt;
+
+        Entry(long count, long loadedAt) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class VersionEntry {
+        private final ListVersion version;
+        private final long loadedAt;
+
+        VersionEntry(ListVersion version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
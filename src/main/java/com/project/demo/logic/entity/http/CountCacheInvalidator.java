@@ -0,0 +1,31 @@
+package com.project.demo.logic.entity.http;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that keeps {@link CountCache} in step with writes made through
+ * the persistence context. Hibernate obtains it from Spring, so it can be injected.
+ */
+@Component
+public class CountCacheInvalidator {
+    private final CountCache countCache;
+
+    public CountCacheInvalidator(CountCache countCache) {
+        this.countCache = countCache;
+    }
+
+    @PostPersist
+    @PostRemove
+    public void onInsertOrDelete(Object entity) {
+        countCache.invalidate(Hibernate.getClass(entity).getSimpleName());
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        countCache.invalidateFiltered(Hibernate.getClass(entity).getSimpleName());
+    }
+}
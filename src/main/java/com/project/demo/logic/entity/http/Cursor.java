@@ -0,0 +1,70 @@
+package com.project.demo.logic.entity.http;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Opaque cursors for keyset pagination over the primary key. A cursor encodes the id
+ * to seek from and the direction, so pages are fetched with {@code WHERE id > ?}
+ * instead of an OFFSET and stay equally fast however deep the client scrolls.
+ */
+public final class Cursor {
+    public static final Sort SORT = Sort.by("id");
+
+    private static final String FORWARD = "f:";
+    private static final String BACKWARD = "b:";
+
+    private Cursor() {
+    }
+
+    /**
+     * Decodes the {@code after} request parameter; an empty value starts from the first row.
+     */
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            long id = Long.parseLong(decoded.substring(2));
+            if (decoded.startsWith(FORWARD)) {
+                return ScrollPosition.forward(Map.of("id", id));
+            }
+            if (decoded.startsWith(BACKWARD)) {
+                return ScrollPosition.backward(Map.of("id", id));
+            }
+        } catch (RuntimeException ignored) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+
+    /**
+     * Fills the cursor fields of {@code meta} for a window read from {@code position}.
+     */
+    public static void setCursors(Meta meta, Window<?> window, KeysetScrollPosition position) {
+        if (window.isEmpty()) {
+            return;
+        }
+        Object firstId = ((KeysetScrollPosition) window.positionAt(0)).getKeys().get("id");
+        Object lastId = ((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys().get("id");
+
+        boolean backward = position.scrollsBackward();
+        boolean moreAfter = backward || window.hasNext();
+        boolean moreBefore = backward ? window.hasNext() : !position.isInitial();
+
+        meta.setNextCursor(moreAfter ? encode(FORWARD, lastId) : null);
+        meta.setPrevCursor(moreBefore ? encode(BACKWARD, firstId) : null);
+    }
+
+    private static String encode(String direction, Object id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((direction + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
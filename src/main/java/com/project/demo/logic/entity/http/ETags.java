@@ -0,0 +1,82 @@
+package com.project.demo.logic.entity.http;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Weak entity tags built from {@code updatedAt} columns, so conditional GETs can be
+ * answered with {@code 304} before the payload is loaded or serialized. A body that
+ * embeds an association is tagged with that association's {@code updatedAt} as well.
+ * <p>
+ * JSON, CBOR and Smile bodies of the same data share one tag, so every tagged response
+ * varies on {@code Accept}; build them with {@link #tagged}.
+ */
+public final class ETags {
+    private ETags() {
+    }
+
+    public static String of(Object id, ItemVersion version) {
+        return "W/\"" + id + "-" + time(version.getUpdatedAt()) + "-" + time(version.getEmbeddedUpdatedAt()) + "\"";
+    }
+
+    /**
+     * Tag for one page of a list; the query string is folded in because each page and
+     * page size is a different representation of the same scope.
+     */
+    public static String of(ListVersion version, HttpServletRequest request) {
+        int query = Objects.hashCode(request.getQueryString());
+        return "W/\"" + version.getCount() + "-" + time(version.getLastUpdatedAt()) + "-"
+                + time(version.getLastEmbeddedUpdatedAt()) + "-" + Integer.toHexString(query) + "\"";
+    }
+
+    /**
+     * Tag for one page of the list scope cached under {@code key} in {@link CountCache}.
+     * Only conditional requests load a fresh version to compare against; others are
+     * tagged with the cached one, which at worst is older than the page and costs the
+     * client a 200 instead of a 304 on its next request.
+     */
+    public static String of(CountCache countCache, String key, Supplier<ListVersion> loader,
+                            HttpServletRequest request) {
+        ListVersion version = request.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                ? countCache.version(key, loader)
+                : countCache.refreshVersion(key, loader);
+        return of(version, request);
+    }
+
+    public static boolean isNotModified(HttpServletRequest request, String eTag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String opaqueTag = opaque(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || opaque(candidate).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static ResponseEntity<?> notModified(String eTag) {
+        return tagged(HttpStatus.NOT_MODIFIED, eTag).build();
+    }
+
+    public static ResponseEntity.BodyBuilder tagged(HttpStatus status, String eTag) {
+        return ResponseEntity.status(status).eTag(eTag).varyBy(HttpHeaders.ACCEPT);
+    }
+
+    private static long time(Date updatedAt) {
+        return updatedAt == null ? 0 : updatedAt.getTime();
+    }
+
+    private static String opaque(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
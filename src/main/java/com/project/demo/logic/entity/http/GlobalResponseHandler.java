@@ -38,4 +38,17 @@ public class GlobalResponseHandler {
         HttpResponse<T> response = new HttpResponse<>(message, body, meta);
         return  new ResponseEntity<>(response, status);
     }
+
+    @ResponseBody
+    public <T> ResponseEntity<?> handleResponse(String message, T body, HttpStatus status, HttpServletRequest request, String eTag) {
+        Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+        HttpResponse<T> response = new HttpResponse<>(message, body, meta);
+        return ETags.tagged(status, eTag).body(response);
+    }
+
+    @ResponseBody
+    public <T> ResponseEntity<?> handleResponse(String message, T body, HttpStatus status, Meta meta, String eTag) {
+        HttpResponse<T> response = new HttpResponse<>(message, body, meta);
+        return ETags.tagged(status, eTag).body(response);
+    }
 }
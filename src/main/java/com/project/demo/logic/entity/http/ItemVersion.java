@@ -0,0 +1,28 @@
+package com.project.demo.logic.entity.http;
+
+import java.util.Date;
+
+/**
+ * {@code updatedAt} of one row and of the association embedded in its body, the
+ * validator behind single-item ETags. Repositories build it with a JPQL constructor
+ * expression, hence {@link #NAME}.
+ */
+public class ItemVersion {
+    public static final String NAME = "com.project.demo.logic.entity.http.ItemVersion";
+
+    private final Date updatedAt;
+    private final Date embeddedUpdatedAt;
+
+    public ItemVersion(Date updatedAt, Date embeddedUpdatedAt) {
+        this.updatedAt = updatedAt;
+        this.embeddedUpdatedAt = embeddedUpdatedAt;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Date getEmbeddedUpdatedAt() {
+        return embeddedUpdatedAt;
+    }
+}
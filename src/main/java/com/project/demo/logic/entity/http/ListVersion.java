@@ -0,0 +1,39 @@
+package com.project.demo.logic.entity.http;
+
+import java.util.Date;
+
+/**
+ * Row count and newest {@code updatedAt} of a list scope, loaded with a single aggregate
+ * query and used as the validator behind list ETags. Lists whose rows embed an
+ * association also carry the newest {@code updatedAt} of those associated rows.
+ * Repositories build it with a JPQL constructor expression, hence {@link #NAME}.
+ */
+public class ListVersion {
+    public static final String NAME = "com.project.demo.logic.entity.http.ListVersion";
+
+    private final long count;
+    private final Date lastUpdatedAt;
+    private final Date lastEmbeddedUpdatedAt;
+
+    public ListVersion(Long count, Date lastUpdatedAt) {
+        this(count, lastUpdatedAt, null);
+    }
+
+    public ListVersion(Long count, Date lastUpdatedAt, Date lastEmbeddedUpdatedAt) {
+        this.count = count == null ? 0 : count;
+        this.lastUpdatedAt = lastUpdatedAt;
+        this.lastEmbeddedUpdatedAt = lastEmbeddedUpdatedAt;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Date getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public Date getLastEmbeddedUpdatedAt() {
+        return lastEmbeddedUpdatedAt;
+    }
+}
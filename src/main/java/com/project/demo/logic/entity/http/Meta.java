@@ -1,5 +1,8 @@
 package com.project.demo.logic.entity.http;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Slice;
+
 public class Meta {
     private String method;
     private String url;
@@ -12,11 +15,35 @@ public class Meta {
 
     private int pageSize;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean totalExact;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String prevCursor;
+
     public Meta(String method, String url) {
         this.method = method;
         this.url = url;
     }
 
+    public void setSlice(Slice<?> slice) {
+        this.pageNumber = slice.getNumber() + 1;
+        this.pageSize = slice.getSize();
+        this.hasNext = slice.hasNext();
+    }
+
+    public void setTotal(CountCache.Total total) {
+        this.totalElements = total.getValue();
+        this.totalPages = pageSize == 0 ? 1 : (int) Math.ceil((double) total.getValue() / pageSize);
+        this.totalExact = total.isExact();
+    }
+
     public String getMethod() {
         return method;
     }
@@ -64,4 +91,36 @@ public class Meta {
     public void setPageSize(int pageSize) {
         this.pageSize = pageSize;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
+    public Boolean getTotalExact() {
+        return totalExact;
+    }
+
+    public void setTotalExact(Boolean totalExact) {
+        this.totalExact = totalExact;
+    }
+
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(Boolean hasNext) {
+        this.hasNext = hasNext;
+    }
 }
@@ -0,0 +1,57 @@
+package com.project.demo.logic.entity.http;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Creates queries whose rows are read one at a time from a cursor instead of being
+ * buffered by the driver.
+ * <p>
+ * The fetch size is {@code streaming.fetch-size}. It defaults to {@link Integer#MIN_VALUE}
+ * on MySQL and MariaDB, the value that makes their drivers stream rows one by one; other
+ * databases reject it, so they get an ordinary fetch size.
+ */
+@Component
+public class StreamingQueries {
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public StreamingQueries(
+            EntityManager entityManager,
+            DataSource dataSource,
+            @Value("${streaming.fetch-size:#{null}}") Integer fetchSize
+    ) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize != null ? fetchSize : defaultFetchSize(dataSource);
+    }
+
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    public <T> TypedQuery<T> createQuery(String jpql, Class<T> type) {
+        return entityManager.createQuery(jpql, type).setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+    }
+
+    private static int defaultFetchSize(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if ("MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product)) {
+                return Integer.MIN_VALUE;
+            }
+        } catch (MetaDataAccessException e) {
+            e.printStackTrace();
+        }
+        return DEFAULT_FETCH_SIZE;
+    }
+}
@@ -0,0 +1,160 @@
+package com.project.demo.logic.entity.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes the same {@code message / data / meta} envelope as {@link GlobalResponseHandler},
+ * but serializes rows straight to the response as they are read from a database cursor
+ * and detaches each one afterwards, so memory use doesn't grow with the page size. The
+ * rows should come from a {@link StreamingQueries} query so the driver doesn't buffer them.
+ * <p>
+ * A streamed body skips the message converters, so the format is negotiated here from
+ * {@code Accept} among JSON, CBOR and Smile, with the converters' mappers; anything else
+ * gets {@code 406}.
+ * <p>
+ * Rows carry only the associations their query fetched. Loading a lazy one would need a
+ * second statement on the connection that is still streaming, which MySQL refuses, so
+ * uninitialized associations are left out of the output.
+ */
+@Component
+public class StreamingResponseWriter {
+    private final List<Format> formats = new ArrayList<>();
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public StreamingResponseWriter(ObjectMapper objectMapper, EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectProvider<MappingJackson2CborHttpMessageConverter> cborConverter,
+                                   ObjectProvider<MappingJackson2SmileHttpMessageConverter> smileConverter) {
+        // JSON first: it is the answer to a missing Accept or */*
+        this.formats.add(new Format(MediaType.APPLICATION_JSON, objectMapper));
+        cborConverter.ifAvailable(converter -> formats.add(new Format(MediaType.APPLICATION_CBOR, converter.getObjectMapper())));
+        smileConverter.ifAvailable(converter -> formats.add(new Format(
+                MediaType.valueOf("application/x-jackson-smile"), converter.getObjectMapper())));
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> stream(String message, Meta meta, HttpStatus status,
+                                                            HttpServletRequest request, Supplier<Stream<T>> rows) {
+        Format format = negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+
+        StreamingResponseBody body = outputStream -> readOnlyTransaction.executeWithoutResult(transaction -> {
+            try (JsonGenerator generator = format.mapper.getFactory().createGenerator(outputStream);
+                 Stream<T> stream = rows.get()) {
+                generator.writeStartObject();
+                generator.writeStringField("message", message);
+                generator.writeArrayFieldStart("data");
+                stream.forEach(row -> {
+                    try {
+                        format.rowWriter.writeValue(generator, row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    entityManager.detach(row);
+                });
+                generator.writeEndArray();
+                generator.writeFieldName("meta");
+                format.rowWriter.writeValue(generator, meta);
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.status(status).contentType(format.mediaType).body(body);
+    }
+
+    private Format negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return formats.get(0);
+        }
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (Format format : formats) {
+                if (type.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static final class Format {
+        private final MediaType mediaType;
+        private final ObjectMapper mapper;
+        private final ObjectWriter rowWriter;
+
+        Format(MediaType mediaType, ObjectMapper mapper) {
+            this.mediaType = mediaType;
+            this.mapper = mapper;
+            this.rowWriter = mapper.copy()
+                    .registerModule(new SimpleModule().setSerializerModifier(new LoadedPropertiesOnly()))
+                    .writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+    }
+
+    private static class LoadedPropertiesOnly extends BeanSerializerModifier {
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDescription,
+                                                         List<BeanPropertyWriter> properties) {
+            return properties.stream()
+                    .map(property -> (BeanPropertyWriter) new LoadedPropertyWriter(property))
+                    .toList();
+        }
+    }
+
+    private static class LoadedPropertyWriter extends BeanPropertyWriter {
+        LoadedPropertyWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator generator, SerializerProvider provider) throws Exception {
+            Object value = get(bean);
+            if (value != null && !Hibernate.isInitialized(value)) {
+                return;
+            }
+            super.serializeAsField(bean, generator, provider);
+        }
+    }
+}
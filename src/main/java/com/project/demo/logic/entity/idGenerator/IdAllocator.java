@@ -0,0 +1,79 @@
+package com.project.demo.logic.entity.idGenerator;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hi/lo style id allocation over an {@code id_generator} table (one row per segment
+ * holding the next free id), which works the same on MySQL and MariaDB.
+ * <p>
+ * {@link #next(String)} serves entity inserts from a block of ids cached per node, so the
+ * table is touched once every {@code ids.block-size} inserts; {@link #allocate(String, int)}
+ * reserves an exact range for JDBC batch inserts. Reservations go through a small pool of
+ * their own and commit at once: an insert already holding a connection from the main pool
+ * never has to wait for a second one from it, which would starve the pool under load.
+ */
+@Component
+public class IdAllocator {
+    public static final String USER = "user";
+    public static final String PRODUCTO = "producto";
+    public static final String ORDER = "order";
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public IdAllocator(DataSourceProperties dataSourceProperties, @Value("${ids.block-size:50}") int blockSize) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("id-allocator");
+        this.dataSource.setMaximumPoolSize(2);
+        this.dataSource.setMinimumIdle(0);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.blockSize = blockSize;
+    }
+
+    @PreDestroy
+    void close() {
+        dataSource.close();
+    }
+
+    public long next(String segment) {
+        Block block = blocks.computeIfAbsent(segment, key -> new Block());
+        synchronized (block) {
+            if (block.next == block.end) {
+                block.next = allocate(segment, blockSize);
+                block.end = block.next + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids for {@code segment} and returns the first.
+     */
+    public long allocate(String segment, int count) {
+        return transactionTemplate.execute(status -> {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT next_id FROM id_generator WHERE entity = ? FOR UPDATE", Long.class, segment);
+            jdbcTemplate.update("UPDATE id_generator SET next_id = ? WHERE entity = ?", next + count, segment);
+            return next;
+        });
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.demo.logic.entity.idGenerator;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@code id_generator} row of every {@link PooledId} entity and moves it past
+ * the highest id already in the entity's table, before anything else inserts. This is the
+ * migration path from AUTO_INCREMENT: existing rows keep their ids and new blocks start
+ * after them. It only ever raises a counter, so it is safe on every startup and from
+ * several nodes at once.
+ */
+@Order(0)
+@Component
+public class IdGeneratorSeeder implements ApplicationListener<ContextRefreshedEvent> {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdGeneratorSeeder(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
+        this.alignGenerators();
+    }
+
+    private void alignGenerators() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS id_generator "
+                + "(entity VARCHAR(64) NOT NULL, next_id BIGINT NOT NULL, PRIMARY KEY (entity))");
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof PooledIdGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister) {
+                align(generator.getSegment(), entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0]);
+            }
+        });
+    }
+
+    private void align(String segment, String table, String idColumn) {
+        jdbcTemplate.update("INSERT IGNORE INTO id_generator (entity, next_id) VALUES (?, 1)", segment);
+        jdbcTemplate.update("UPDATE id_generator SET next_id = GREATEST(next_id, "
+                + "(SELECT COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + table + ")) WHERE entity = ?", segment);
+    }
+}
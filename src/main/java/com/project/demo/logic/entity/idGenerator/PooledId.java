@@ -0,0 +1,22 @@
+package com.project.demo.logic.entity.idGenerator;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the id from a block of ids reserved by {@link IdAllocator}, so inserts of the
+ * entity can be batched (IDENTITY ids forbid it).
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledId {
+    /**
+     * The {@code id_generator} row to draw from; one per table.
+     */
+    String value();
+}
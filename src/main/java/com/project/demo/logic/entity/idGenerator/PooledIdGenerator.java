@@ -0,0 +1,38 @@
+package com.project.demo.logic.entity.idGenerator;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+import org.hibernate.service.ServiceRegistry;
+
+import java.lang.reflect.Member;
+
+public class PooledIdGenerator implements IdentifierGenerator {
+    private final String segment;
+    private final ServiceRegistry serviceRegistry;
+    private volatile IdAllocator idAllocator;
+
+    public PooledIdGenerator(PooledId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.segment = config.value();
+        this.serviceRegistry = context.getServiceRegistry();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return idAllocator().next(segment);
+    }
+
+    public String getSegment() {
+        return segment;
+    }
+
+    private IdAllocator idAllocator() {
+        if (idAllocator == null) {
+            // Looked up on first use: Hibernate builds its generators before the Spring beans exist
+            idAllocator = serviceRegistry.requireService(ManagedBeanRegistry.class)
+                    .getBean(IdAllocator.class).getBeanInstance();
+        }
+        return idAllocator;
+    }
+}
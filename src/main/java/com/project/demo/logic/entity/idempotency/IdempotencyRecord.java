@@ -0,0 +1,64 @@
+package com.project.demo.logic.entity.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+import java.util.Date;
+
+/**
+ * The recorded outcome of a request sent with an {@code Idempotency-Key}. Keys are stored
+ * as a SHA-256 of the caller, endpoint and key, so rows stay fixed-size whatever the
+ * client sends. A {@code response_status} of 0 marks a request still being executed.
+ * Written by {@link IdempotencyService}.
+ */
+@Table(name = "idempotency_key", indexes = @Index(name = "idx_idempotency_key_expires", columnList = "expires_at"))
+@Entity
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "key_hash", length = 64)
+    private String keyHash;
+
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "response_status", nullable = false)
+    private int responseStatus;
+
+    @Lob
+    @Column(length = 16777215)
+    private byte[] body;
+
+    @Column(name = "created_at", nullable = false)
+    private Date createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+
+    public String getKeyHash() {
+        return keyHash;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getResponseStatus() {
+        return responseStatus;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+}
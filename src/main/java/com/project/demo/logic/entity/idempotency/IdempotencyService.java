@@ -0,0 +1,303 @@
+package com.project.demo.logic.entity.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.exceptions.IdempotencyKeyInProgressException;
+import com.project.demo.logic.exceptions.IdempotencyKeyReusedException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per {@code Idempotency-Key}. The first request claims
+ * the key in {@code idempotency_key}, then runs and records its response in one
+ * transaction, so the write and the record commit together. Retries within
+ * {@code idempotency.ttl-ms} get the recorded response back without running anything.
+ * <p>
+ * Duplicates arriving while the first request is still running wait for it when it runs
+ * on this instance, and get a 409 when it runs on another. A claim left behind by a
+ * crashed instance can be taken over after {@code idempotency.lock-timeout-ms}. Recent
+ * responses are also kept in an in-process LRU. 5xx responses and exceptions release the
+ * key so that the request can be retried.
+ */
+@Service
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int PENDING = 0;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final long lockTimeoutMillis;
+    private final int cleanupBatchSize;
+    private final Map<String, StoredResponse> recent;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+            @Value("${idempotency.lock-timeout-ms:60000}") long lockTimeoutMillis,
+            @Value("${idempotency.cache.max-entries:10000}") int cacheMaxEntries,
+            @Value("${idempotency.cleanup-batch-size:5000}") int cleanupBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMillis;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.cleanupBatchSize = cleanupBatchSize;
+        this.recent = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key was already made by the same
+     * caller to the same endpoint, in which case its response is replayed. Reusing a key
+     * with a different body or query string is rejected.
+     */
+    public ResponseEntity<?> execute(String key, Object requestBody, HttpServletRequest request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        Principal principal = request.getUserPrincipal();
+        String keyHash = sha256(request.getMethod() + " " + request.getRequestURI() + "\n"
+                + (principal == null ? "" : principal.getName()) + "\n" + key);
+        // Hashed before the action runs, since saving fills in ids on the body
+        String requestHash = sha256(request.getQueryString() + "\n" + objectMapper.valueToTree(requestBody));
+
+        StoredResponse stored = cached(keyHash);
+        if (stored != null) {
+            return replay(stored, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(keyHash, execution);
+        if (running != null) {
+            return replay(await(running), requestHash);
+        }
+        try {
+            StoredResponse existing = claim(keyHash, requestHash);
+            if (existing != null) {
+                remember(keyHash, existing);
+                execution.complete(existing);
+                return replay(existing, requestHash);
+            }
+            return run(keyHash, requestHash, action, execution);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(keyHash, execution);
+        }
+    }
+
+    /**
+     * Deletes expired records, a batch at a time.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:600000}")
+    public long purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            recent.values().removeIf(stored -> stored.isExpired(now));
+        }
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at < ? LIMIT ?",
+                    new Timestamp(now), cleanupBatchSize);
+            purged += deleted;
+        } while (deleted == cleanupBatchSize);
+        return purged;
+    }
+
+    private ResponseEntity<?> run(String keyHash, String requestHash, Supplier<ResponseEntity<?>> action,
+                                  CompletableFuture<StoredResponse> execution) {
+        Execution executed;
+        try {
+            executed = transactionTemplate.execute(status -> {
+                ResponseEntity<?> response = action.get();
+                StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+                        serialize(response.getBody()), System.currentTimeMillis() + ttlMillis);
+                if (!response.getStatusCode().is5xxServerError()) {
+                    jdbcTemplate.update("UPDATE idempotency_key SET response_status = ?, body = ? WHERE key_hash = ?",
+                            stored.status, stored.body, keyHash);
+                }
+                return new Execution(response, stored);
+            });
+        } catch (RuntimeException e) {
+            release(keyHash);
+            throw e;
+        }
+        if (executed.response.getStatusCode().is5xxServerError()) {
+            release(keyHash);
+        } else {
+            remember(keyHash, executed.stored);
+        }
+        execution.complete(executed.stored);
+        return executed.response;
+    }
+
+    /**
+     * Claims the key for this request. Returns null when claimed, or the recorded response
+     * when the key was already used.
+     */
+    private StoredResponse claim(String keyHash, String requestHash) {
+        long now = System.currentTimeMillis();
+        Timestamp createdAt = new Timestamp(now);
+        Timestamp expiresAt = new Timestamp(now + ttlMillis);
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_key (key_hash, request_hash, response_status, created_at, expires_at) "
+                    + "VALUES (?, ?, ?, ?, ?)", keyHash, requestHash, PENDING, createdAt, expiresAt);
+            return null;
+        } catch (DuplicateKeyException e) {
+            // Used before; take it over only if that use expired or its claim was abandoned
+        }
+        int taken = jdbcTemplate.update("UPDATE idempotency_key SET request_hash = ?, response_status = ?, body = NULL, "
+                        + "created_at = ?, expires_at = ? WHERE key_hash = ? "
+                        + "AND (expires_at < ? OR (response_status = ? AND created_at < ?))",
+                requestHash, PENDING, createdAt, expiresAt, keyHash,
+                createdAt, PENDING, new Timestamp(now - lockTimeoutMillis));
+        if (taken == 1) {
+            return null;
+        }
+        StoredResponse stored = jdbcTemplate.query(
+                "SELECT request_hash, response_status, body, expires_at FROM idempotency_key WHERE key_hash = ?",
+                resultSet -> resultSet.next()
+                        ? new StoredResponse(resultSet.getString(1), resultSet.getInt(2), resultSet.getBytes(3),
+                        resultSet.getTimestamp(4).getTime())
+                        : null,
+                keyHash);
+        if (stored == null || stored.status == PENDING) {
+            throw new IdempotencyKeyInProgressException();
+        }
+        return stored;
+    }
+
+    private void release(String keyHash) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE key_hash = ? AND response_status = ?", keyHash, PENDING);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(lockTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException();
+        }
+    }
+
+    /**
+     * The recorded body is sent back as a JSON tree, so it is encoded for whatever format
+     * the retry asked for.
+     */
+    private ResponseEntity<?> replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash.equals(requestHash)) {
+            throw new IdempotencyKeyReusedException();
+        }
+        try {
+            return ResponseEntity.status(stored.status)
+                    .header(REPLAYED_HEADER, "true")
+                    .body(objectMapper.readTree(stored.body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized StoredResponse cached(String keyHash) {
+        StoredResponse stored = recent.get(keyHash);
+        if (stored != null && stored.isExpired(System.currentTimeMillis())) {
+            recent.remove(keyHash);
+            return null;
+        }
+        return stored;
+    }
+
+    private synchronized void remember(String keyHash, StoredResponse stored) {
+        recent.put(keyHash, stored);
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class StoredResponse {
+        private final String requestHash;
+        private final int status;
+        private final byte[] body;
+        private final long expiresAt;
+
+        StoredResponse(String requestHash, int status, byte[] body, long expiresAt) {
+            this.requestHash = requestHash;
+            this.status = status;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt < now;
+        }
+    }
+
+    private static class Execution {
+        private final ResponseEntity<?> response;
+        private final StoredResponse stored;
+
+        Execution(ResponseEntity<?> response, StoredResponse stored) {
+            this.response = response;
+            this.stored = stored;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.project.demo.logic.entity.item;
 
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -8,9 +10,10 @@ import java.util.Date;
 
 @Table(name = "item")
 @Entity
+@EntityListeners(CountCacheInvalidator.class)
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("item")
     private  Long id;
     private String name;
     private String description;
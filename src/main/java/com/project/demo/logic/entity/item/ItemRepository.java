@@ -1,8 +1,21 @@
 package com.project.demo.logic.entity.item;
 
+import com.project.demo.logic.entity.http.ListVersion;
 import com.project.demo.logic.entity.item.Item;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface ItemRepository extends JpaRepository<Item,Long> {
+    Slice<Item> findAllBy(Pageable pageable);
 
+    Window<Item> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("SELECT new " + ListVersion.NAME + "(COUNT(i), MAX(i.updatedAt)) FROM Item i")
+    ListVersion findListVersion();
 }
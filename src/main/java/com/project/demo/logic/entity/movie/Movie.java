@@ -1,12 +1,13 @@
 package com.project.demo.logic.entity.movie;
 
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
 
 @Entity
 @Table(name= "movies")
 public class Movie {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("movie")
     private Long id;
 
     private String title;
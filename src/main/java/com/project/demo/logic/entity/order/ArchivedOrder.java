@@ -0,0 +1,59 @@
+package com.project.demo.logic.entity.order;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * An order moved out of the hot {@code order} table by {@link OrderArchiver}. Same columns,
+ * no foreign keys, read-only.
+ */
+@Table(name = "order_archive", indexes = @Index(name = "idx_order_archive_user_created", columnList = "user_id, created_at"))
+@Entity
+@Immutable
+public class ArchivedOrder {
+    @Id
+    private Long id;
+
+    @Column(name = "tracking_id", length = 36)
+    private String trackingId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    private String description;
+    private Double total;
+
+    @Column(name = "created_at")
+    private Date createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * The order as the API shows it; not attached to the persistence context.
+     */
+    Order toOrder(List<ArchivedOrderItem> archivedItems) {
+        Order order = new Order();
+        order.setId(id);
+        order.setTrackingId(trackingId);
+        order.setDescription(description);
+        order.setTotal(total);
+        order.setCreatedAt(createdAt);
+        for (ArchivedOrderItem archivedItem : archivedItems) {
+            order.getItems().add(archivedItem.toOrderItem(order));
+        }
+        return order;
+    }
+}
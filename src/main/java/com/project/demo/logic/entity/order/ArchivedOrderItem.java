@@ -0,0 +1,43 @@
+package com.project.demo.logic.entity.order;
+
+import com.project.demo.logic.entity.producto.Producto;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+@Table(name = "order_item_archive", indexes = @Index(name = "idx_order_item_archive_order", columnList = "order_id"))
+@Entity
+@Immutable
+public class ArchivedOrderItem {
+    @Id
+    private Long id;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "producto_id")
+    private Long productoId;
+
+    private int quantity;
+
+    @Column(name = "unit_price")
+    private BigDecimal unitPrice;
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    OrderItem toOrderItem(Order order) {
+        // The producto may be gone by now; only its id is shown
+        Producto producto = new Producto();
+        producto.setId(productoId);
+        OrderItem orderItem = new OrderItem(order, producto, quantity, unitPrice);
+        orderItem.setId(id);
+        return orderItem;
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.demo.logic.entity.order;
+
+import java.util.List;
+
+public class CheckoutRequest {
+    private String description;
+    private List<Line> items;
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<Line> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Line> items) {
+        this.items = items;
+    }
+
+    public static class Line {
+        private Long productoId;
+        private int quantity;
+
+        public Long getProductoId() {
+            return productoId;
+        }
+
+        public void setProductoId(Long productoId) {
+            this.productoId = productoId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
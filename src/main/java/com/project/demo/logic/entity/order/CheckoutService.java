@@ -0,0 +1,116 @@
+package com.project.demo.logic.entity.order;
+
+import com.project.demo.logic.entity.category.CategoryStatsRollup;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.producto.Producto;
+import com.project.demo.logic.entity.producto.ProductoRepository;
+import com.project.demo.logic.entity.responseCache.ResponseCache;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.exceptions.InsufficientStockException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Places an order and reserves stock for all its lines in one transaction.
+ * <p>
+ * Stock is taken with a conditional {@code UPDATE ... SET stock = stock - ? WHERE stock >= ?}
+ * per producto rather than read-modify-write, so concurrent buyers can't oversell. The
+ * decrements run last, right before commit and in producto id order: a hot producto's row
+ * is locked only for the tail of the transaction, and two checkouts can't deadlock on
+ * each other's rows. A shortage rolls back the order and every reservation already made.
+ */
+@Service
+public class CheckoutService {
+    private final OrderRepository orderRepository;
+    private final ProductoRepository productoRepository;
+    private final ResponseCache responseCache;
+    private final CategoryStatsRollup categoryStatsRollup;
+    private final CountCache countCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public CheckoutService(
+            OrderRepository orderRepository,
+            ProductoRepository productoRepository,
+            ResponseCache responseCache,
+            CategoryStatsRollup categoryStatsRollup,
+            CountCache countCache,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.orderRepository = orderRepository;
+        this.productoRepository = productoRepository;
+        this.responseCache = responseCache;
+        this.categoryStatsRollup = categoryStatsRollup;
+        this.countCache = countCache;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public Order checkout(User user, CheckoutRequest request) {
+        Map<Long, Integer> quantities = mergeLines(request);
+
+        // Prices are read outside the transaction; no lock is needed to quote them
+        Map<Long, Producto> productos = productoRepository.findByIdIn(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Producto::getId, Function.identity()));
+        for (Long productoId : quantities.keySet()) {
+            if (!productos.containsKey(productoId)) {
+                throw new IllegalArgumentException("Producto " + productoId + " not found");
+            }
+        }
+
+        Order order = new Order();
+        order.setUser(user);
+        order.setDescription(request.getDescription());
+        List<OrderItem> items = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Producto producto = productos.get(line.getKey());
+            BigDecimal unitPrice = producto.getPrice() == null ? BigDecimal.ZERO : producto.getPrice();
+            items.add(new OrderItem(order, producto, line.getValue(), unitPrice));
+            total = total.add(unitPrice.multiply(BigDecimal.valueOf(line.getValue())));
+        }
+        order.setItems(items);
+        order.setTotal(total.doubleValue());
+
+        Order savedOrder = transactionTemplate.execute(status -> {
+            Order saved = orderRepository.save(order);
+            for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+                if (productoRepository.reserveStock(line.getKey(), line.getValue()) == 0) {
+                    throw new InsufficientStockException(line.getKey());
+                }
+            }
+            return saved;
+        });
+
+        quantities.forEach((productoId, quantity) -> categoryStatsRollup.adjustStock(productoId, -quantity));
+        // The reservations moved updatedAt without going through the entity listeners
+        countCache.invalidateFiltered("Producto");
+        for (Producto producto : productos.values()) {
+            responseCache.evictProducto(producto.getId(), producto.getCategory().getId());
+        }
+        return savedOrder;
+    }
+
+    /**
+     * Validates the lines and sums repeated productos, sorted by id to fix the lock order.
+     */
+    private Map<Long, Integer> mergeLines(CheckoutRequest request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("An order needs at least one item");
+        }
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (CheckoutRequest.Line line : request.getItems()) {
+            if (line.getProductoId() == null || line.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Each item needs a productoId and a positive quantity");
+            }
+            quantities.merge(line.getProductoId(), line.getQuantity(), Math::addExact);
+        }
+        return quantities;
+    }
+}
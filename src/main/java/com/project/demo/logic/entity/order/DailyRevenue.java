@@ -0,0 +1,48 @@
+package com.project.demo.logic.entity.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * Orders placed and revenue taken on one day, kept up to date by {@link OrderRollupService}.
+ */
+@Table(name = "daily_revenue")
+@Entity
+public class DailyRevenue {
+    @Id
+    @Column(name = "revenue_date")
+    private LocalDate date;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @JsonIgnore
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+}
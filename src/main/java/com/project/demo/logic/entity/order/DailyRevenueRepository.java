@@ -0,0 +1,10 @@
+package com.project.demo.logic.entity.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, LocalDate> {
+    List<DailyRevenue> findByDateBetweenOrderByDate(LocalDate from, LocalDate to);
+}
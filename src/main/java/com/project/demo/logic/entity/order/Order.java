@@ -1,24 +1,64 @@
 package com.project.demo.logic.entity.order;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
 
-@Table(name = "`order`")
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Table(name = "`order`", indexes = {
+        @Index(name = "idx_order_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_order_created", columnList = "created_at")
+})
 @Entity
+@EntityListeners({CountCacheInvalidator.class, OrderRollupListener.class})
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("order")
     private Long id;
 
+    /**
+     * Set on orders taken by the asynchronous intake, which uses it to write each one once.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "tracking_id", unique = true, length = 36, updatable = false)
+    private String trackingId;
+
     private String description;
     private Double total;
 
     @JsonIgnore
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name =  "user_id")
     private User user;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    private List<OrderItem> items = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(updatable = false, name = "created_at")
+    private Date createdAt;
+
+    /**
+     * What this order last contributed to the rollups, so an update or delete can take
+     * exactly that back out.
+     */
+    @Transient
+    private Long rolledUpUserId;
+    @Transient
+    private Double rolledUpTotal;
+    @Transient
+    private Date rolledUpCreatedAt;
+
     public Long getId() {
         return id;
     }
@@ -27,6 +67,14 @@ public class Order {
         this.id = id;
     }
 
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -51,5 +99,44 @@ public class Order {
         this.user = user;
     }
 
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    Long getUserId() {
+        // Reads the id off the proxy without loading the user
+        return user == null ? null : user.getId();
+    }
+
+    void rolledUp() {
+        rolledUpUserId = getUserId();
+        rolledUpTotal = total;
+        rolledUpCreatedAt = createdAt;
+    }
+
+    Long getRolledUpUserId() {
+        return rolledUpUserId;
+    }
+
+    Double getRolledUpTotal() {
+        return rolledUpTotal;
+    }
+
+    Date getRolledUpCreatedAt() {
+        return rolledUpCreatedAt;
+    }
+
 
 }
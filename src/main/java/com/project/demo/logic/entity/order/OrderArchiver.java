@@ -0,0 +1,91 @@
+package com.project.demo.logic.entity.order;
+
+import com.project.demo.logic.entity.http.CountCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves orders older than {@code orders.archive.horizon-days}, with their items, from
+ * {@code order} and {@code order_item} into {@code order_archive} and
+ * {@code order_item_archive}, so the hot tables only hold recent history. Each batch is
+ * copied and deleted in one transaction. The rollups already count these orders and are
+ * left as they are.
+ * <p>
+ * Orders from before {@code created_at} existed have no date and stay in the hot table.
+ */
+@Component
+public class OrderArchiver {
+    private static final String ORDER_COLUMNS = "id, tracking_id, user_id, description, total, created_at";
+    private static final String ORDER_ITEM_COLUMNS = "id, order_id, producto_id, quantity, unit_price";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CountCache countCache;
+    private final int horizonDays;
+    private final int batchSize;
+
+    public OrderArchiver(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            CountCache countCache,
+            @Value("${orders.archive.horizon-days:365}") int horizonDays,
+            @Value("${orders.archive.batch-size:1000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.countCache = countCache;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the number of orders archived.
+     */
+    @Scheduled(cron = "${orders.archive.cron:0 0 4 * * *}")
+    public long archive() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(Duration.ofDays(horizonDays)));
+        long archived = 0;
+        try {
+            int moved;
+            do {
+                moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                archived += moved;
+            } while (moved == batchSize);
+        } catch (DataIntegrityViolationException e) {
+            // Another node is archiving the same orders; leave the rest to it
+        } finally {
+            if (archived > 0) {
+                countCache.invalidate("Order");
+            }
+        }
+        return archived;
+    }
+
+    private int archiveBatch(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM `order` WHERE created_at < ? ORDER BY created_at LIMIT ?",
+                Long.class, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = "(" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        Object[] parameters = ids.toArray();
+        jdbcTemplate.update("INSERT INTO order_archive (" + ORDER_COLUMNS + ") SELECT " + ORDER_COLUMNS
+                + " FROM `order` WHERE id IN " + in, parameters);
+        jdbcTemplate.update("INSERT INTO order_item_archive (" + ORDER_ITEM_COLUMNS + ") SELECT " + ORDER_ITEM_COLUMNS
+                + " FROM order_item WHERE order_id IN " + in, parameters);
+        jdbcTemplate.update("DELETE FROM order_item WHERE order_id IN " + in, parameters);
+        jdbcTemplate.update("DELETE FROM `order` WHERE id IN " + in, parameters);
+        return ids.size();
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.demo.logic.entity.order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * A user's orders across the hot table and the archive, newest first. Archiving moves
+ * everything older than a cutoff, so every hot order is newer than every archived one:
+ * a page is read from the hot table and, only when that runs out, continued from the
+ * archive. Both sides are served by their {@code (user_id, created_at)} index.
+ * <p>
+ * Keyset windows keep the id order of {@link com.project.demo.logic.entity.http.Cursor}:
+ * both tables are read from the cursor and the two runs merged by id.
+ */
+@Service
+public class OrderHistoryService {
+    private static final String RANGE = " AND (:from IS NULL OR o.createdAt >= :from) AND (:to IS NULL OR o.createdAt < :to)";
+
+    private final EntityManager entityManager;
+
+    public OrderHistoryService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Orders placed in [{@code from}, {@code to}); either bound may be null.
+     */
+    public Slice<Order> findByUser(Long userId, Date from, Date to, Pageable pageable) {
+        int wanted = pageable.getPageSize() + 1;
+        List<Order> orders = new ArrayList<>(query(
+                "SELECT o FROM Order o WHERE o.user.id = :userId" + RANGE + " ORDER BY o.createdAt DESC, o.id DESC",
+                Order.class, userId, from, to)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(wanted)
+                .getResultList());
+
+        if (orders.size() < wanted) {
+            long archiveOffset = 0;
+            if (orders.isEmpty() && pageable.getOffset() > 0) {
+                archiveOffset = Math.max(0, pageable.getOffset() - countHot(userId, from, to));
+            }
+            List<ArchivedOrder> archived = query(
+                    "SELECT o FROM ArchivedOrder o WHERE o.userId = :userId" + RANGE + " ORDER BY o.createdAt DESC, o.id DESC",
+                    ArchivedOrder.class, userId, from, to)
+                    .setFirstResult((int) archiveOffset)
+                    .setMaxResults(wanted - orders.size())
+                    .getResultList();
+            orders.addAll(withItems(archived));
+        }
+
+        boolean hasNext = orders.size() == wanted;
+        if (hasNext) {
+            orders.remove(orders.size() - 1);
+        }
+        return new SliceImpl<>(orders, pageable, hasNext);
+    }
+
+    /**
+     * The window after (or before) {@code position} in id order, restricted to
+     * [{@code from}, {@code to}) like {@link #findByUser}.
+     */
+    public Window<Order> scrollByUser(Long userId, Date from, Date to, KeysetScrollPosition position, int limit) {
+        Long fromId = position.isInitial() ? null : ((Number) position.getKeys().get("id")).longValue();
+        boolean backward = position.scrollsBackward();
+        String seek = (fromId == null ? "" : backward ? " AND o.id < :fromId" : " AND o.id > :fromId")
+                + " ORDER BY o.id " + (backward ? "DESC" : "ASC");
+
+        TypedQuery<Order> hot = query("SELECT o FROM Order o WHERE o.user.id = :userId" + RANGE + seek,
+                Order.class, userId, from, to);
+        TypedQuery<ArchivedOrder> archive = query("SELECT o FROM ArchivedOrder o WHERE o.userId = :userId" + RANGE + seek,
+                ArchivedOrder.class, userId, from, to);
+        if (fromId != null) {
+            hot.setParameter("fromId", fromId);
+            archive.setParameter("fromId", fromId);
+        }
+
+        Comparator<Order> byId = Comparator.comparing(Order::getId);
+        List<Order> orders = new ArrayList<>(hot.setMaxResults(limit + 1).getResultList());
+        orders.addAll(withItems(archive.setMaxResults(limit + 1).getResultList()));
+        orders.sort(backward ? byId.reversed() : byId);
+
+        boolean hasNext = orders.size() > limit;
+        if (hasNext) {
+            orders = new ArrayList<>(orders.subList(0, limit));
+        }
+        if (backward) {
+            Collections.reverse(orders);
+        }
+
+        List<Order> content = orders;
+        return Window.from(content, index -> ScrollPosition.forward(Map.of("id", content.get(index).getId())), hasNext);
+    }
+
+    public long countByUser(Long userId, Date from, Date to) {
+        return countHot(userId, from, to) + query(
+                "SELECT COUNT(o) FROM ArchivedOrder o WHERE o.userId = :userId" + RANGE, Long.class, userId, from, to)
+                .getSingleResult();
+    }
+
+    private long countHot(Long userId, Date from, Date to) {
+        return query("SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId" + RANGE, Long.class, userId, from, to)
+                .getSingleResult();
+    }
+
+    private List<Order> withItems(List<ArchivedOrder> archived) {
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ArchivedOrderItem>> items = entityManager.createQuery(
+                        "SELECT i FROM ArchivedOrderItem i WHERE i.orderId IN :orderIds", ArchivedOrderItem.class)
+                .setParameter("orderIds", archived.stream().map(ArchivedOrder::getId).toList())
+                .getResultList()
+                .stream()
+                .collect(Collectors.groupingBy(ArchivedOrderItem::getOrderId));
+        return archived.stream()
+                .map(order -> order.toOrder(items.getOrDefault(order.getId(), List.of())))
+                .toList();
+    }
+
+    private <T> TypedQuery<T> query(String jpql, Class<T> type, Long userId, Date from, Date to) {
+        return entityManager.createQuery(jpql, type)
+                .setParameter("userId", userId)
+                .setParameter("from", from)
+                .setParameter("to", to);
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.demo.logic.entity.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Date;
+
+/**
+ * An order accepted by the asynchronous intake, tracked from the {@code 202} until it is
+ * written. The same shape is what the intake log stores, one JSON document per line.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderIntake {
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private String trackingId;
+    private Long userId;
+    private String description;
+    private Double total;
+    private Date acceptedAt;
+    private volatile String status = ACCEPTED;
+    private volatile Long orderId;
+    private volatile String error;
+    private volatile long finishedAt;
+    @JsonIgnore
+    private OrderIntakeLog.Segment segment;
+
+    public OrderIntake() {
+    }
+
+    OrderIntake(String trackingId, Long userId, String description, Double total, Date acceptedAt) {
+        this.trackingId = trackingId;
+        this.userId = userId;
+        this.description = description;
+        this.total = total;
+        this.acceptedAt = acceptedAt;
+    }
+
+    static OrderIntake created(Order order) {
+        OrderIntake intake = new OrderIntake(order.getTrackingId(), order.getUserId(), order.getDescription(),
+                order.getTotal(), order.getCreatedAt());
+        intake.status = CREATED;
+        intake.orderId = order.getId();
+        return intake;
+    }
+
+    void created(Long orderId) {
+        this.orderId = orderId;
+        finishedAt = System.currentTimeMillis();
+        status = CREATED;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        finishedAt = System.currentTimeMillis();
+        status = FAILED;
+    }
+
+    public String getTrackingId() {
+        return trackingId;
+    }
+
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public void setTotal(Double total) {
+        this.total = total;
+    }
+
+    public Date getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public void setAcceptedAt(Date acceptedAt) {
+        this.acceptedAt = acceptedAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    long getFinishedAt() {
+        return finishedAt;
+    }
+
+    OrderIntakeLog.Segment getSegment() {
+        return segment;
+    }
+
+    void setSegment(OrderIntakeLog.Segment segment) {
+        this.segment = segment;
+    }
+}
@@ -0,0 +1,190 @@
+package com.project.demo.logic.entity.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Write-ahead log of accepted orders: append-only segment files of one JSON line per
+ * order, fsynced before the order is acknowledged. Concurrent appends share an fsync
+ * (group commit), so acknowledging a burst costs a few syncs rather than one per order.
+ * A segment is deleted once it has been rolled over and every order in it was written to
+ * the database; whatever is left on disk at startup is replayed.
+ */
+class OrderIntakeLog implements Closeable {
+    private static final String PREFIX = "intake-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ObjectMapper objectMapper;
+    private final List<Path> leftovers;
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+    private Segment current;
+    private long written;
+    private long synced;
+
+    OrderIntakeLog(Path directory, long segmentBytes, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.objectMapper = objectMapper;
+        try (Stream<Path> files = Files.list(directory)) {
+            this.leftovers = files.filter(OrderIntakeLog::isSegment).sorted().toList();
+        }
+        long lastSequence = leftovers.isEmpty() ? 0 : sequence(leftovers.get(leftovers.size() - 1));
+        this.current = open(lastSequence + 1);
+    }
+
+    /**
+     * Segments found at startup, oldest first; their orders may or may not have been written.
+     */
+    List<Path> leftovers() {
+        return leftovers;
+    }
+
+    List<OrderIntake> read(Path segment) throws IOException {
+        List<OrderIntake> intakes = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    intakes.add(objectMapper.readValue(line, OrderIntake.class));
+                } catch (IOException e) {
+                    // A torn last line: the crash came before its fsync, so it was never acknowledged
+                }
+            }
+        }
+        return intakes;
+    }
+
+    void delete(Path segment) throws IOException {
+        Files.deleteIfExists(segment);
+    }
+
+    /**
+     * Appends the order and returns once it is on disk.
+     */
+    void append(OrderIntake intake) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((objectMapper.writeValueAsString(intake) + "\n").getBytes(StandardCharsets.UTF_8));
+        long end;
+        synchronized (writeLock) {
+            while (line.hasRemaining()) {
+                current.channel.write(line);
+            }
+            current.pending.incrementAndGet();
+            intake.setSegment(current);
+            written += line.capacity();
+            end = written;
+        }
+        sync(end);
+    }
+
+    /**
+     * Marks the order as written to the database, deleting its segment if it was the last.
+     */
+    void release(OrderIntake intake) {
+        Segment segment = intake.getSegment();
+        if (segment != null && segment.pending.decrementAndGet() == 0 && segment.closed) {
+            segment.delete();
+        }
+    }
+
+    private void sync(long end) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return;
+            }
+            Segment segment;
+            long target;
+            synchronized (writeLock) {
+                segment = current;
+                target = written;
+            }
+            segment.channel.force(false);
+            synced = target;
+
+            if (segment.channel.size() >= segmentBytes) {
+                // Rolled over here, under syncLock, so no other thread is forcing the channel being closed
+                synchronized (writeLock) {
+                    segment.channel.force(false);
+                    synced = written;
+                    current = open(segment.sequence + 1);
+                    segment.channel.close();
+                    segment.closed = true;
+                    if (segment.pending.get() == 0) {
+                        segment.delete();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                current.channel.force(false);
+                current.channel.close();
+                current.closed = true;
+                if (current.pending.get() == 0) {
+                    current.delete();
+                }
+            }
+        }
+    }
+
+    private Segment open(long sequence) throws IOException {
+        Path path = directory.resolve(PREFIX + String.format("%019d", sequence) + SUFFIX);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new Segment(sequence, path, channel);
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long sequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static final class Segment {
+        private final long sequence;
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean deleted = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Segment(long sequence, Path path, FileChannel channel) {
+            this.sequence = sequence;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private void delete() {
+            if (deleted.compareAndSet(false, true)) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    // Left for the next startup, which replays it as a no-op
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.project.demo.logic.entity.order;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.idGenerator.IdAllocator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * High-throughput order intake: {@link #accept} validates the order, makes it durable in
+ * the {@link OrderIntakeLog} and queues it, without touching the database; a single
+ * writer drains the queue into batched JDBC inserts. Each order carries a tracking id,
+ * unique in the {@code order} table, so replaying the log after a crash never creates an
+ * order twice. While the database is unreachable the writer keeps retrying and the
+ * orders wait in the log.
+ */
+@Service
+public class OrderIntakeService implements ApplicationListener<ContextRefreshedEvent> {
+    private static final String INSERT_ORDER = "INSERT INTO `order` (id, tracking_id, user_id, description, total, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final OrderIntakeLog log;
+    private final BlockingQueue<OrderIntake> queue;
+    private final Semaphore capacity;
+    private final Map<String, OrderIntake> intakes = new ConcurrentHashMap<>();
+    private final OrderRepository orderRepository;
+    private final OrderRollupService orderRollupService;
+    private final IdAllocator idAllocator;
+    private final CountCache countCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retryDelayMillis;
+    private final long statusRetentionMillis;
+    private final long pruneIntervalMillis;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public OrderIntakeService(
+            OrderRepository orderRepository,
+            OrderRollupService orderRollupService,
+            IdAllocator idAllocator,
+            CountCache countCache,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${orders.intake.log-dir:order-intake}") String logDirectory,
+            @Value("${orders.intake.segment-bytes:67108864}") long segmentBytes,
+            @Value("${orders.intake.queue-capacity:10000}") int queueCapacity,
+            @Value("${orders.intake.batch-size:500}") int batchSize,
+            @Value("${orders.intake.retry-delay-ms:1000}") long retryDelayMillis,
+            @Value("${orders.intake.status-retention-ms:600000}") long statusRetentionMillis,
+            @Value("${orders.intake.prune-interval-ms:10000}") long pruneIntervalMillis
+    ) throws IOException {
+        this.log = new OrderIntakeLog(Path.of(logDirectory), segmentBytes, objectMapper);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.capacity = new Semaphore(queueCapacity);
+        this.orderRepository = orderRepository;
+        this.orderRollupService = orderRollupService;
+        this.idAllocator = idAllocator;
+        this.countCache = countCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retryDelayMillis = retryDelayMillis;
+        this.statusRetentionMillis = statusRetentionMillis;
+        this.pruneIntervalMillis = pruneIntervalMillis;
+        this.writer = new Thread(this::drain, "order-intake");
+        this.writer.setDaemon(true);
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
+        if (!writer.isAlive() && running) {
+            writer.start();
+        }
+    }
+
+    /**
+     * Accepts the order for {@code userId} once it is safely in the log; fails with a
+     * RejectedExecutionException when the queue is full. A user that doesn't exist is only
+     * caught by the writer, and shows up as a failed intake.
+     */
+    public OrderIntake accept(Long userId, Order order) {
+        if (order.getTotal() == null || order.getTotal() < 0) {
+            throw new IllegalArgumentException("An order needs a total of zero or more");
+        }
+        if (order.getDescription() != null && order.getDescription().length() > 255) {
+            throw new IllegalArgumentException("The order description is longer than 255 characters");
+        }
+        if (!capacity.tryAcquire()) {
+            throw new RejectedExecutionException("The order intake queue is full");
+        }
+
+        OrderIntake intake = new OrderIntake(UUID.randomUUID().toString(), userId, order.getDescription(),
+                order.getTotal(), new Date());
+        try {
+            log.append(intake);
+        } catch (IOException e) {
+            capacity.release();
+            throw new UncheckedIOException(e);
+        }
+        intakes.put(intake.getTrackingId(), intake);
+        queue.add(intake);
+        return intake;
+    }
+
+    public Optional<OrderIntake> getIntake(String trackingId) {
+        OrderIntake intake = intakes.get(trackingId);
+        if (intake != null) {
+            return Optional.of(intake);
+        }
+        return orderRepository.findByTrackingId(trackingId).map(OrderIntake::created);
+    }
+
+    /**
+     * The writer loop. An unexpected error costs at most the batch it happened in: orders of
+     * that batch that weren't written stay in the log and are replayed on the next start, and
+     * until then {@link #getIntake} no longer reports them.
+     */
+    private void drain() {
+        try {
+            try {
+                replay();
+            } catch (RuntimeException e) {
+                // The leftovers stay in the log; new orders must still be written
+                e.printStackTrace();
+            }
+            List<OrderIntake> batch = new ArrayList<>(batchSize);
+            long nextPrune = System.currentTimeMillis() + pruneIntervalMillis;
+            while (running) {
+                OrderIntake first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    try {
+                        write(batch);
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                        forgetUnwritten(batch);
+                    } finally {
+                        batch.stream().filter(intake -> !OrderIntake.ACCEPTED.equals(intake.getStatus())).forEach(log::release);
+                        capacity.release(batch.size());
+                        batch.clear();
+                    }
+                }
+                // On a timer, since a busy queue is never idle
+                long now = System.currentTimeMillis();
+                if (now >= nextPrune) {
+                    pruneFinished(now);
+                    nextPrune = now + pruneIntervalMillis;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down: whatever is still queued stays in the log for the next start
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the orders left in the log by the previous run, skipping those that reached
+     * the database before it stopped.
+     */
+    private void replay() throws IOException, InterruptedException {
+        for (Path segment : log.leftovers()) {
+            List<OrderIntake> pending = log.read(segment);
+            for (int from = 0; from < pending.size() && running; from += batchSize) {
+                List<OrderIntake> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+                Set<String> written = new HashSet<>(orderRepository.findExistingTrackingIds(
+                        batch.stream().map(OrderIntake::getTrackingId).toList()));
+                List<OrderIntake> toWrite = batch.stream().filter(intake -> !written.contains(intake.getTrackingId())).toList();
+                toWrite.forEach(intake -> intakes.put(intake.getTrackingId(), intake));
+                try {
+                    write(toWrite);
+                } catch (RuntimeException e) {
+                    forgetUnwritten(toWrite);
+                    throw e;
+                }
+            }
+            if (running) {
+                log.delete(segment);
+            }
+        }
+    }
+
+    private void write(List<OrderIntake> batch) throws InterruptedException {
+        while (running && !batch.isEmpty()) {
+            try {
+                try {
+                    insert(batch);
+                } catch (RuntimeException batchFailure) {
+                    if (isUnavailable(batchFailure)) {
+                        throw batchFailure;
+                    }
+                    // A missing user, an order already written or a row that can't be inserted
+                    // at all: retry row by row to isolate it
+                    for (OrderIntake intake : batch) {
+                        insertOne(intake);
+                    }
+                }
+                countCache.invalidate("Order");
+                return;
+            } catch (DataAccessException e) {
+                // The database is unavailable; the orders are safe in the log, so keep trying
+                Thread.sleep(retryDelayMillis);
+            }
+        }
+    }
+
+    private void insertOne(OrderIntake intake) {
+        try {
+            insert(List.of(intake));
+        } catch (DataIntegrityViolationException e) {
+            Optional<Order> existing = orderRepository.findByTrackingId(intake.getTrackingId());
+            if (existing.isPresent()) {
+                intake.created(existing.get().getId());
+            } else {
+                intake.failed(e.getMostSpecificCause().getMessage());
+            }
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                throw e;
+            }
+            intake.failed(String.valueOf(e.getMessage()));
+        }
+    }
+
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof DataAccessException && !(e instanceof DataIntegrityViolationException);
+    }
+
+    private void insert(List<OrderIntake> batch) {
+        long firstId = idAllocator.allocate(IdAllocator.ORDER, batch.size());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OrderIntake intake = batch.get(i);
+            rows.add(new Object[] {firstId + i, intake.getTrackingId(), intake.getUserId(), intake.getDescription(),
+                    intake.getTotal(), new Timestamp(intake.getAcceptedAt().getTime())});
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_ORDER, rows);
+            // The inserts bypass the entity listener that keeps the rollups
+            batch.forEach(intake -> orderRollupService.add(intake.getUserId(), intake.getAcceptedAt(), intake.getTotal(), 1));
+        });
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).created(firstId + i);
+        }
+    }
+
+    /**
+     * Drops the status of the orders an unexpected error left unwritten. They stay in the log
+     * and are replayed on the next start; kept here they would read as accepted forever, since
+     * pruning only removes finished intakes.
+     */
+    private void forgetUnwritten(List<OrderIntake> batch) {
+        batch.stream()
+                .filter(intake -> OrderIntake.ACCEPTED.equals(intake.getStatus()))
+                .forEach(intake -> intakes.remove(intake.getTrackingId()));
+    }
+
+    private void pruneFinished(long now) {
+        intakes.values().removeIf(intake -> !OrderIntake.ACCEPTED.equals(intake.getStatus())
+                && now - intake.getFinishedAt() > statusRetentionMillis);
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException, InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        log.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.demo.logic.entity.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.demo.logic.entity.producto.Producto;
+import com.project.demo.logic.entity.idGenerator.PooledId;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+@Table(name = "order_item")
+@Entity
+public class OrderItem {
+    @Id
+    @PooledId("order_item")
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "producto_id", nullable = false)
+    private Producto producto;
+
+    private int quantity;
+
+    @Column(name = "unit_price")
+    private BigDecimal unitPrice;
+
+    public OrderItem() {
+    }
+
+    public OrderItem(Order order, Producto producto, int quantity, BigDecimal unitPrice) {
+        this.order = order;
+        this.producto = producto;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    public Producto getProducto() {
+        return producto;
+    }
+
+    public void setProducto(Producto producto) {
+        this.producto = producto;
+    }
+
+    public Long getProductoId() {
+        return producto == null ? null : producto.getId();
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+}
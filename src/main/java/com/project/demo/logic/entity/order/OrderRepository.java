@@ -1,11 +1,16 @@
 package com.project.demo.logic.entity.order;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,5 +21,18 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // @Query("SELECT o FROM Order o WHERE o.user.id = :userId")
     // List<Order> getOrderByUserId(@Param("userId") Long userId);
 
-    Page<Order> getOrderByUserId(Long id, Pageable pageable);
+    Slice<Order> getOrderByUserId(Long id, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    Slice<Order> findAllBy(Pageable pageable);
+
+    Window<Order> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Order> getOrderByUserId(Long id, ScrollPosition position, Sort sort, Limit limit);
+
+    Optional<Order> findByTrackingId(String trackingId);
+
+    @Query("SELECT o.trackingId FROM Order o WHERE o.trackingId IN ?1")
+    List<String> findExistingTrackingIds(Collection<String> trackingIds);
 }
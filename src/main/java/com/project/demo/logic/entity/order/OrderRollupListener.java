@@ -0,0 +1,50 @@
+package com.project.demo.logic.entity.order;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * JPA entity listener on {@link Order} feeding {@link OrderRollupService}. The deltas are
+ * only applied if the order's transaction commits.
+ */
+@Component
+public class OrderRollupListener {
+    private final OrderRollupService orderRollupService;
+
+    public OrderRollupListener(@Lazy OrderRollupService orderRollupService) {
+        this.orderRollupService = orderRollupService;
+    }
+
+    @PostLoad
+    public void onLoad(Order order) {
+        order.rolledUp();
+    }
+
+    @PostPersist
+    public void onPersist(Order order) {
+        orderRollupService.add(order.getUserId(), order.getCreatedAt(), order.getTotal(), 1);
+        order.rolledUp();
+    }
+
+    @PostUpdate
+    public void onUpdate(Order order) {
+        if (!Objects.equals(order.getUserId(), order.getRolledUpUserId())
+                || !Objects.equals(order.getTotal(), order.getRolledUpTotal())) {
+            // created_at never changes, so the order stays on the day it was first counted on
+            orderRollupService.add(order.getRolledUpUserId(), order.getRolledUpCreatedAt(), order.getRolledUpTotal(), -1);
+            orderRollupService.add(order.getUserId(), order.getRolledUpCreatedAt(), order.getTotal(), 1);
+        }
+        order.rolledUp();
+    }
+
+    @PostRemove
+    public void onRemove(Order order) {
+        orderRollupService.add(order.getRolledUpUserId(), order.getRolledUpCreatedAt(), order.getRolledUpTotal(), -1);
+    }
+}
@@ -0,0 +1,340 @@
+package com.project.demo.logic.entity.order;
+
+import com.project.demo.logic.entity.http.StreamingQueries;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps {@link UserOrderTotals} and {@link DailyRevenue} up to date so that dashboards read
+ * a handful of rollup rows instead of aggregating the {@code order} table. Every order
+ * write records its delta (see {@link OrderRollupListener}); deltas are kept with the
+ * transaction, merged into a shared buffer once it commits, and applied by
+ * {@link #flush()} every {@code orders.rollups.flush-interval-ms} as one batch of upserts.
+ * Order writes therefore never lock the rollup rows, in particular today's single
+ * {@code daily_revenue} row, and the rollups lag the orders by up to one interval.
+ * Days are counted in {@code orders.rollups.zone}.
+ * <p>
+ * A nightly {@link #reconcile()} recomputes both rollups from {@code order} and
+ * {@code order_archive} and repairs any row that drifted, such as after writes made
+ * outside JPA or deltas lost in a crash before they were flushed. Rows written after the
+ * reconciliation started are left alone, since its figures may already be stale for them.
+ */
+@Service
+public class OrderRollupService {
+    private static final String ADD_TO_USER = "INSERT INTO user_order_totals (user_id, order_count, total_amount, updated_at) "
+            + "VALUES (?, ?, ?, CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+            + "total_amount = total_amount + VALUES(total_amount), updated_at = VALUES(updated_at)";
+    private static final String ADD_TO_DAY = "INSERT INTO daily_revenue (revenue_date, order_count, revenue, updated_at) "
+            + "VALUES (?, ?, ?, CURRENT_TIMESTAMP) ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), "
+            + "revenue = revenue + VALUES(revenue), updated_at = VALUES(updated_at)";
+    private static final int SCALE = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate flushTransactionTemplate;
+    private final ZoneId zone;
+    private final int reconcileChunkSize;
+    private Deltas pending = new Deltas();
+
+    public OrderRollupService(
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            StreamingQueries streamingQueries,
+            @Value("${orders.rollups.zone:UTC}") String zone,
+            @Value("${orders.rollups.reconcile-chunk-size:1000}") int reconcileChunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(streamingQueries.fetchSize());
+        this.zone = ZoneId.of(zone);
+        this.reconcileChunkSize = reconcileChunkSize;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    /**
+     * Adds ({@code count} 1) or takes back ({@code count} -1) one order's contribution once
+     * the current transaction commits.
+     */
+    void add(Long userId, Date createdAt, Double total, int count) {
+        BigDecimal amount = amount(total).multiply(BigDecimal.valueOf(count));
+        Deltas deltas = transactionDeltas();
+        if (userId != null) {
+            deltas.addToUser(userId, count, amount);
+        }
+        // Orders from before created_at existed belong to no day
+        if (createdAt != null) {
+            deltas.addToDay(day(createdAt), count, amount);
+        }
+        if (!inTransaction()) {
+            merge(deltas);
+        }
+    }
+
+    /**
+     * Takes all of a user's orders out of the rollups, for deletes that bypass JPA; call
+     * it in the same transaction, before the orders go.
+     */
+    public void removeUser(Long userId) {
+        Deltas deltas = transactionDeltas();
+        jdbcTemplate.query("SELECT created_at, total FROM `order` WHERE user_id = ? AND created_at IS NOT NULL "
+                        + "UNION ALL SELECT created_at, total FROM order_archive WHERE user_id = ?",
+                resultSet -> {
+                    deltas.addToDay(day(resultSet.getTimestamp(1)), -1, amount(resultSet.getObject(2, Double.class)).negate());
+                }, userId, userId);
+        deltas.removeUser(userId);
+        jdbcTemplate.update("DELETE FROM user_order_totals WHERE user_id = ?", userId);
+        if (!inTransaction()) {
+            merge(deltas);
+        }
+    }
+
+    /**
+     * Applies the committed deltas buffered so far in one short transaction, in key order
+     * so that concurrent flushes on several instances can't deadlock. A failed flush puts
+     * its deltas back for the next one.
+     */
+    @Scheduled(fixedDelayString = "${orders.rollups.flush-interval-ms:1000}")
+    public void flush() {
+        Deltas flushing;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            flushing = pending;
+            pending = new Deltas();
+        }
+        try {
+            flushTransactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> users = new ArrayList<>();
+                flushing.users.forEach((userId, totals) -> users.add(new Object[]{userId, totals.count, totals.amount}));
+                List<Object[]> days = new ArrayList<>();
+                flushing.days.forEach((day, totals) -> days.add(new Object[]{day, totals.count, totals.amount}));
+                if (!users.isEmpty()) {
+                    jdbcTemplate.batchUpdate(ADD_TO_USER, users);
+                }
+                if (!days.isEmpty()) {
+                    jdbcTemplate.batchUpdate(ADD_TO_DAY, days);
+                }
+            });
+        } catch (RuntimeException e) {
+            merge(flushing);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(cron = "${orders.rollups.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        Timestamp startedAt = jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class);
+        reconcileUsers(startedAt);
+        reconcileDays(startedAt);
+    }
+
+    private void reconcileUsers(Timestamp startedAt) {
+        long after = 0;
+        while (true) {
+            List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM user WHERE id > ? ORDER BY id LIMIT ?",
+                    Long.class, after, reconcileChunkSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            long from = userIds.get(0);
+            long to = userIds.get(userIds.size() - 1);
+
+            Map<Long, Totals> expected = new HashMap<>();
+            jdbcTemplate.query("SELECT user_id, COUNT(*), SUM(ROUND(total, 2)) FROM ("
+                            + "SELECT user_id, total FROM `order` WHERE user_id BETWEEN ? AND ? "
+                            + "UNION ALL SELECT user_id, total FROM order_archive WHERE user_id BETWEEN ? AND ?"
+                            + ") orders GROUP BY user_id",
+                    resultSet -> {
+                        expected.put(resultSet.getLong(1), new Totals(resultSet.getLong(2), amount(resultSet.getObject(3, Double.class))));
+                    }, from, to, from, to);
+            // Deltas of orders already counted above get a newer updated_at and are skipped below
+            flush();
+            Map<Long, Totals> stored = new HashMap<>();
+            jdbcTemplate.query("SELECT user_id, order_count, total_amount FROM user_order_totals WHERE user_id BETWEEN ? AND ?",
+                    resultSet -> {
+                        stored.put(resultSet.getLong(1), new Totals(resultSet.getLong(2), resultSet.getBigDecimal(3)));
+                    }, from, to);
+
+            for (Long userId : userIds) {
+                Totals actual = expected.getOrDefault(userId, new Totals());
+                Totals current = stored.get(userId);
+                if (current == null ? actual.count == 0 : current.matches(actual)) {
+                    continue;
+                }
+                if (current == null) {
+                    jdbcTemplate.update("INSERT IGNORE INTO user_order_totals (user_id, order_count, total_amount, updated_at) "
+                            + "VALUES (?, ?, ?, CURRENT_TIMESTAMP)", userId, actual.count, actual.amount);
+                } else {
+                    jdbcTemplate.update("UPDATE user_order_totals SET order_count = ?, total_amount = ?, updated_at = CURRENT_TIMESTAMP "
+                            + "WHERE user_id = ? AND updated_at < ?", actual.count, actual.amount, userId, startedAt);
+                }
+            }
+            after = to;
+        }
+        jdbcTemplate.update("DELETE FROM user_order_totals WHERE user_id NOT IN (SELECT id FROM user) AND updated_at < ?", startedAt);
+    }
+
+    private void reconcileDays(Timestamp startedAt) {
+        Map<LocalDate, Totals> expected = new HashMap<>();
+        streamingJdbcTemplate.query("SELECT created_at, total FROM `order` WHERE created_at IS NOT NULL "
+                + "UNION ALL SELECT created_at, total FROM order_archive", resultSet -> {
+            expected.computeIfAbsent(day(resultSet.getTimestamp(1)), key -> new Totals())
+                    .add(1, amount(resultSet.getObject(2, Double.class)));
+        });
+        flush();
+        Map<LocalDate, Totals> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT revenue_date, order_count, revenue FROM daily_revenue", resultSet -> {
+            stored.put(resultSet.getObject(1, LocalDate.class), new Totals(resultSet.getLong(2), resultSet.getBigDecimal(3)));
+        });
+
+        Set<LocalDate> days = new TreeSet<>(expected.keySet());
+        days.addAll(stored.keySet());
+        for (LocalDate day : days) {
+            Totals actual = expected.getOrDefault(day, new Totals());
+            Totals current = stored.get(day);
+            if (current == null) {
+                jdbcTemplate.update("INSERT IGNORE INTO daily_revenue (revenue_date, order_count, revenue, updated_at) "
+                        + "VALUES (?, ?, ?, CURRENT_TIMESTAMP)", day, actual.count, actual.amount);
+            } else if (!current.matches(actual)) {
+                jdbcTemplate.update("UPDATE daily_revenue SET order_count = ?, revenue = ?, updated_at = CURRENT_TIMESTAMP "
+                        + "WHERE revenue_date = ? AND updated_at < ?", actual.count, actual.amount, day, startedAt);
+            }
+        }
+    }
+
+    /**
+     * The deltas of the current transaction, merged into {@link #pending} when it commits
+     * and dropped if it rolls back; a fresh, unbound set outside a transaction.
+     */
+    private Deltas transactionDeltas() {
+        if (!inTransaction()) {
+            return new Deltas();
+        }
+        Deltas deltas = (Deltas) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Deltas bound = new Deltas();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    merge(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OrderRollupService.this);
+                }
+            });
+            deltas = bound;
+        }
+        return deltas;
+    }
+
+    private static boolean inTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private synchronized void merge(Deltas deltas) {
+        pending.merge(deltas);
+    }
+
+    private LocalDate day(Date createdAt) {
+        return LocalDate.ofInstant(createdAt.toInstant(), zone);
+    }
+
+    private static BigDecimal amount(Double total) {
+        return total == null ? BigDecimal.ZERO : BigDecimal.valueOf(total).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static final class Deltas {
+        private final Map<Long, Totals> users = new TreeMap<>();
+        private final Map<LocalDate, Totals> days = new TreeMap<>();
+        private final Set<Long> removedUsers = new HashSet<>();
+
+        void addToUser(Long userId, long count, BigDecimal amount) {
+            users.computeIfAbsent(userId, key -> new Totals()).add(count, amount);
+        }
+
+        void addToDay(LocalDate day, long count, BigDecimal amount) {
+            days.computeIfAbsent(day, key -> new Totals()).add(count, amount);
+        }
+
+        /**
+         * Drops the user's pending deltas; their row was deleted.
+         */
+        void removeUser(Long userId) {
+            users.remove(userId);
+            removedUsers.add(userId);
+        }
+
+        void merge(Deltas other) {
+            other.removedUsers.forEach(users::remove);
+            other.users.forEach((userId, totals) -> addToUser(userId, totals.count, totals.amount));
+            other.days.forEach((day, totals) -> addToDay(day, totals.count, totals.amount));
+        }
+
+        boolean isEmpty() {
+            return users.isEmpty() && days.isEmpty();
+        }
+    }
+
+    private static final class Totals {
+        private long count;
+        private BigDecimal amount;
+
+        Totals() {
+            this(0, BigDecimal.ZERO);
+        }
+
+        Totals(long count, BigDecimal amount) {
+            this.count = count;
+            this.amount = amount.setScale(SCALE, RoundingMode.HALF_UP);
+        }
+
+        void add(long count, BigDecimal amount) {
+            this.count += count;
+            this.amount = this.amount.add(amount);
+        }
+
+        boolean matches(Totals other) {
+            return count == other.count && amount.compareTo(other.amount) == 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.project.demo.logic.entity.order;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Lifetime order count and spend of one user, kept up to date by {@link OrderRollupService}.
+ */
+@Table(name = "user_order_totals", indexes = @Index(name = "idx_user_order_totals_amount", columnList = "total_amount"))
+@Entity
+public class UserOrderTotals {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @JsonIgnore
+    @Column(name = "updated_at")
+    private Date updatedAt;
+
+    public UserOrderTotals() {
+    }
+
+    public UserOrderTotals(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.demo.logic.entity.order;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface UserOrderTotalsRepository extends JpaRepository<UserOrderTotals, Long> {
+    List<UserOrderTotals> findAllByOrderByTotalAmountDesc(Limit limit);
+}
@@ -1,6 +1,8 @@
 package com.project.demo.logic.entity.preferenceList;
 
 import com.project.demo.logic.entity.movie.Movie;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
 
 import java.util.ArrayList;
@@ -8,9 +10,10 @@ import java.util.List;
 
 @Entity
 @Table(name= "preferenceList")
+@EntityListeners(CountCacheInvalidator.class)
 public class PreferenceList {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("preference_list")
     private Long id;
 
     private String name;
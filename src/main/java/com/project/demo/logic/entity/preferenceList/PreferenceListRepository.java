@@ -1,8 +1,17 @@
 package com.project.demo.logic.entity.preferenceList;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PreferenceListRepository extends JpaRepository<PreferenceList, Long> {
+    Slice<PreferenceList> findAllBy(Pageable pageable);
+
+    Window<PreferenceList> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
@@ -3,6 +3,9 @@ package com.project.demo.logic.entity.producto;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.project.demo.logic.entity.category.Category;
+import com.project.demo.logic.entity.category.CategoryStatsListener;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -12,11 +15,15 @@ import java.util.Date;
 
 @Table(name = "producto")
 @Entity
+@EntityListeners({CountCacheInvalidator.class, ProductoSearchIndexListener.class, CategoryStatsListener.class})
 public class Producto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("producto")
     private  Long id;
 
+    @Column(unique = true, length = 64)
+    private String sku;
+
     @Column(nullable = false)
     private String name;
     private String description;
@@ -31,7 +38,7 @@ public class Producto {
     @Column(name = "updated_at")
     private Date updatedAt;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", referencedColumnName = "id",  nullable = false)
     @JsonIgnoreProperties("productos")
     private Category category;
@@ -48,6 +55,14 @@ public class Producto {
         this.id = id;
     }
 
+    public String getSku() {
+        return sku;
+    }
+
+    public void setSku(String sku) {
+        this.sku = sku;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,268 @@
+package com.project.demo.logic.entity.producto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.bulk.BulkImportSummary;
+import com.project.demo.logic.entity.bulk.BulkRow;
+import com.project.demo.logic.entity.bulk.BulkRowReader;
+import com.project.demo.logic.entity.bulk.BulkRowResult;
+import com.project.demo.logic.entity.category.Category;
+import com.project.demo.logic.entity.category.CategoryRepository;
+import com.project.demo.logic.entity.category.CategoryStatsRollup;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.idGenerator.IdAllocator;
+import com.project.demo.logic.entity.responseCache.ResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Loads a catalog from a streamed NDJSON or CSV upload with the columns
+ * {@code sku, name, description, price, stock} plus {@code categoryId} or {@code category}
+ * (a category name). Rows with a known sku update that producto, the rest are inserted.
+ * <p>
+ * Each batch resolves its categories with at most two queries and is written with one JDBC
+ * batch in its own transaction, so a bad row only costs a row-by-row retry of its batch
+ * and memory stays bounded by the batch size. The writes bypass JPA, so the search index,
+ * category stats and caches are refreshed once at the end.
+ */
+@Service
+public class ProductoImportService {
+    private static final String UPSERT_PRODUCTO =
+            "INSERT INTO producto (id, sku, name, description, price, stock, category_id, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE name = VALUES(name), "
+                    + "description = VALUES(description), price = VALUES(price), stock = VALUES(stock), "
+                    + "category_id = VALUES(category_id), updated_at = VALUES(updated_at)";
+
+    private final CategoryRepository categoryRepository;
+    private final ProductoSearchIndex productoSearchIndex;
+    private final CategoryStatsRollup categoryStatsRollup;
+    private final ResponseCache responseCache;
+    private final CountCache countCache;
+    private final IdAllocator idAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductoImportService(
+            CategoryRepository categoryRepository,
+            ProductoSearchIndex productoSearchIndex,
+            CategoryStatsRollup categoryStatsRollup,
+            ResponseCache responseCache,
+            CountCache countCache,
+            IdAllocator idAllocator,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${productos.import.batch-size:1000}") int batchSize,
+            @Value("${productos.import.max-reported-errors:1000}") int maxReportedErrors
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.productoSearchIndex = productoSearchIndex;
+        this.categoryStatsRollup = categoryStatsRollup;
+        this.responseCache = responseCache;
+        this.countCache = countCache;
+        this.idAllocator = idAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public BulkImportSummary importCatalog(InputStream inputStream, String contentType) {
+        BulkRowReader reader = new BulkRowReader(inputStream, contentType, objectMapper);
+        BulkImportSummary summary = new BulkImportSummary(maxReportedErrors);
+
+        try {
+            List<BulkRow> batch;
+            while (!(batch = reader.nextBatch(batchSize)).isEmpty()) {
+                importBatch(batch, summary);
+            }
+        } finally {
+            if (summary.getImported() > 0) {
+                countCache.invalidate("Producto");
+                responseCache.clear();
+                productoSearchIndex.rebuild();
+                categoryStatsRollup.reconcile();
+            }
+        }
+        return summary;
+    }
+
+    private void importBatch(List<BulkRow> batch, BulkImportSummary summary) {
+        Map<String, Category> categories = resolveCategories(batch);
+
+        List<BulkRow> valid = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (BulkRow row : batch) {
+            try {
+                rows.add(toParameters(row, categories, now));
+                valid.add(row);
+            } catch (IllegalArgumentException e) {
+                summary.failed(row, key(row), e.getMessage());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        // Rows that turn out to be updates keep their id and leave a gap, which is harmless
+        long firstId = idAllocator.allocate(IdAllocator.PRODUCTO, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i)[0] = firstId + i;
+        }
+
+        try {
+            List<String> statuses = transactionTemplate.execute(status -> {
+                List<String> batchStatuses = statusesOf(valid);
+                jdbcTemplate.batchUpdate(UPSERT_PRODUCTO, rows);
+                return batchStatuses;
+            });
+            statuses.forEach(summary::imported);
+        } catch (DataAccessException batchFailure) {
+            // Isolate the offending rows; the rest of the batch still goes in
+            for (int i = 0; i < valid.size(); i++) {
+                try {
+                    summary.imported(statusOf(jdbcTemplate.update(UPSERT_PRODUCTO, rows.get(i))));
+                } catch (DataAccessException rowFailure) {
+                    summary.failed(valid.get(i), key(valid.get(i)), rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether each row will create or update a producto, from the skus already stored and
+     * the ones earlier in the batch. The batch's affected-row counts can't say: with
+     * {@code rewriteBatchedStatements} the driver reports every row as
+     * {@link java.sql.Statement#SUCCESS_NO_INFO}.
+     */
+    private List<String> statusesOf(List<BulkRow> rows) {
+        // Compared like MySQL's default collation, which treats skus differing only in case as the same key
+        Set<String> known = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> skus = rows.stream().map(row -> row.get("sku")).filter(Objects::nonNull).distinct().toList();
+        if (!skus.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(skus.size(), "?"));
+            known.addAll(jdbcTemplate.queryForList(
+                    "SELECT sku FROM producto WHERE sku IN (" + placeholders + ")", String.class, skus.toArray()));
+        }
+
+        List<String> statuses = new ArrayList<>(rows.size());
+        for (BulkRow row : rows) {
+            String sku = row.get("sku");
+            statuses.add(sku != null && !known.add(sku) ? BulkRowResult.UPDATED : BulkRowResult.CREATED);
+        }
+        return statuses;
+    }
+
+    /**
+     * Looks up every category the batch names, keyed both as {@code "id:<id>"} and
+     * {@code "name:<name>"}; when names repeat, the oldest category wins.
+     */
+    private Map<String, Category> resolveCategories(List<BulkRow> batch) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (BulkRow row : batch) {
+            String categoryId = row.get("categoryId");
+            if (categoryId != null) {
+                try {
+                    ids.add(Long.valueOf(categoryId));
+                } catch (NumberFormatException ignored) {
+                    // reported when the row is converted
+                }
+            } else if (row.get("category") != null) {
+                names.add(row.get("category"));
+            }
+        }
+
+        Map<String, Category> categories = new HashMap<>();
+        if (!ids.isEmpty()) {
+            categoryRepository.findAllById(ids).forEach(category -> categories.put("id:" + category.getId(), category));
+        }
+        if (!names.isEmpty()) {
+            categoryRepository.findByNameIn(names).stream()
+                    .sorted(Comparator.comparing(Category::getId).reversed())
+                    .forEach(category -> categories.put("name:" + category.getName(), category));
+        }
+        return categories;
+    }
+
+    private Object[] toParameters(BulkRow row, Map<String, Category> categories, Timestamp now) {
+        if (row.getParseError() != null) {
+            throw new IllegalArgumentException(row.getParseError());
+        }
+        if (row.get("name") == null) {
+            throw new IllegalArgumentException("name is required");
+        }
+
+        Category category;
+        if (row.get("categoryId") != null) {
+            category = categories.get("id:" + row.get("categoryId"));
+        } else if (row.get("category") != null) {
+            category = categories.get("name:" + row.get("category"));
+        } else {
+            throw new IllegalArgumentException("categoryId or category is required");
+        }
+        if (category == null) {
+            throw new IllegalArgumentException("Category not found");
+        }
+
+        BigDecimal price;
+        int stock;
+        try {
+            price = row.get("price") == null ? null : new BigDecimal(row.get("price"));
+            stock = row.get("stock") == null ? 0 : Integer.parseInt(row.get("stock"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price and stock must be numbers");
+        }
+        if (stock < 0) {
+            throw new IllegalArgumentException("stock can't be negative");
+        }
+
+        return new Object[] {
+                null,
+                row.get("sku"),
+                row.get("name"),
+                row.get("description"),
+                price,
+                stock,
+                category.getId(),
+                now,
+                now
+        };
+    }
+
+    private static String key(BulkRow row) {
+        return row.get("sku") != null ? row.get("sku") : row.get("name");
+    }
+
+    /**
+     * MySQL reports 1 affected row for an insert and 2 (or 0 if nothing changed) for an update
+     * run on its own.
+     */
+    private static String statusOf(int affectedRows) {
+        return switch (affectedRows) {
+            case 1 -> BulkRowResult.CREATED;
+            case 0, 2 -> BulkRowResult.UPDATED;
+            default -> null;
+        };
+    }
+}
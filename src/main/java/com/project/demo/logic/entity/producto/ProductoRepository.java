@@ -1,10 +1,78 @@
 package com.project.demo.logic.entity.producto;
 
+import com.project.demo.logic.entity.category.ProductoStatsRow;
+import com.project.demo.logic.entity.http.ItemVersion;
+import com.project.demo.logic.entity.http.ListVersion;
 import com.project.demo.logic.entity.producto.Producto;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface ProductoRepository extends JpaRepository<Producto, Long> {
-    Page<Producto> findByCategoryId(Long categoryId, Pageable pageable);
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductoRepository extends JpaRepository<Producto, Long>, ProductoStreamingRepository {
+    @EntityGraph(attributePaths = "category")
+    Slice<Producto> findByCategoryId(Long categoryId, Pageable pageable);
+
+    long countByCategoryId(Long categoryId);
+
+    @EntityGraph(attributePaths = "category")
+    Slice<Producto> findAllBy(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Producto> findById(Long id);
+
+    @EntityGraph(attributePaths = "category")
+    Window<Producto> findByCategoryId(Long categoryId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "category")
+    Window<Producto> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("SELECT new " + ItemVersion.NAME + "(p.updatedAt, c.updatedAt) FROM Producto p JOIN p.category c WHERE p.id = ?1")
+    Optional<ItemVersion> findVersionById(Long id);
+
+    @Query("SELECT new " + ListVersion.NAME + "(COUNT(p), MAX(p.updatedAt), MAX(c.updatedAt)) FROM Producto p JOIN p.category c")
+    ListVersion findListVersion();
+
+    @Query("SELECT new " + ListVersion.NAME + "(COUNT(p), MAX(p.updatedAt), MAX(c.updatedAt)) FROM Producto p JOIN p.category c WHERE c.id = ?1")
+    ListVersion findListVersionByCategoryId(Long categoryId);
+
+    @EntityGraph(attributePaths = "category")
+    List<Producto> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new " + ProductoSearchDocument.NAME + "(p.id, p.name, p.description, c.id, c.name) FROM Producto p LEFT JOIN p.category c WHERE p.id = ?1")
+    Optional<ProductoSearchDocument> findSearchDocument(Long id);
+
+    @Query("SELECT new " + ProductoSearchDocument.NAME + "(p.id, p.name, p.description, c.id, c.name) FROM Producto p JOIN p.category c WHERE c.id = ?1")
+    List<ProductoSearchDocument> findSearchDocumentsByCategoryId(Long categoryId);
+
+    /**
+     * Takes {@code quantity} units if that many are left; returns 0 when they aren't.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Producto p SET p.stock = p.stock - ?2, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = ?1 AND p.stock >= ?2")
+    int reserveStock(Long id, int quantity);
+
+    /**
+     * Adds {@code delta} units, or takes them when negative, unless that would leave the
+     * stock below 0; returns 0 when it would.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Producto p SET p.stock = p.stock + ?2, p.updatedAt = CURRENT_TIMESTAMP WHERE p.id = ?1 AND p.stock + ?2 >= 0")
+    int adjustStock(Long id, int delta);
+
+    @Query("SELECT new " + ProductoStatsRow.NAME + "(p.id, p.category.id, p.price, p.stock) FROM Producto p WHERE p.id = ?1")
+    Optional<ProductoStatsRow> findStatsRow(Long id);
 }
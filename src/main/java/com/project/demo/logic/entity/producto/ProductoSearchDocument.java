@@ -0,0 +1,43 @@
+package com.project.demo.logic.entity.producto;
+
+/**
+ * The text of a producto that {@link ProductoSearchIndex} indexes, read with a JPQL
+ * constructor expression so indexing never loads the entity.
+ */
+public class ProductoSearchDocument {
+    public static final String NAME = "com.project.demo.logic.entity.producto.ProductoSearchDocument";
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Long categoryId;
+    private final String categoryName;
+
+    public ProductoSearchDocument(Long id, String name, String description, Long categoryId, String categoryName) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+}
@@ -0,0 +1,765 @@
+package com.project.demo.logic.entity.producto;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over producto name, description and category name.
+ * <p>
+ * Products are numbered with dense int doc ids; each term maps to a posting list of
+ * parallel {@code int[]} doc ids and weights, kept sorted because doc ids only grow.
+ * Updates append a new doc and mark the old one deleted; the lists are compacted once
+ * half the docs are dead. The term dictionary is a {@link TreeMap}, so prefix lookups
+ * for autocomplete are a range scan, and terms within a small edit distance of a query
+ * token also match, ranked below exact and prefix hits; those are found through
+ * {@link FuzzyTerms} rather than by comparing against every term.
+ * <p>
+ * Built at startup and kept current by {@link ProductoSearchIndexListener} after each
+ * committed write. If the startup load fails the app still starts, with an empty index,
+ * and the load is retried every {@code search.index.retry-interval-ms} until it succeeds. A rebuild loads into a new {@link Segment} while searches keep using
+ * the current one, and swaps it in once loaded.
+ */
+@Component
+public class ProductoSearchIndex implements ApplicationListener<ContextRefreshedEvent> {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float FUZZY_FACTOR = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final ProductoRepository productoRepository;
+    private final TransactionTemplate readTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Segment segment = new Segment();
+    private volatile boolean loaded;
+    // Writes made while a rebuild is loading, replayed onto the new segment before the swap
+    private List<Consumer<Segment>> changesDuringRebuild;
+
+    public ProductoSearchIndex(ProductoRepository productoRepository, PlatformTransactionManager transactionManager) {
+        this.productoRepository = productoRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        // Also used from afterCommit callbacks, where the finished transaction can't be joined
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
+        this.loadIfMissing();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.retry-interval-ms:30000}", initialDelayString = "${search.index.retry-interval-ms:30000}")
+    public void loadIfMissing() {
+        if (loaded) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Re-reads every producto; used at startup and after writes that bypass JPA.
+     */
+    public synchronized void rebuild() {
+        List<Consumer<Segment>> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // If loading fails the current segment stays in place
+        Segment fresh = null;
+        try {
+            fresh = load();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (fresh != null) {
+                    for (Consumer<Segment> change : changes) {
+                        change.accept(fresh);
+                    }
+                    segment = fresh;
+                    loaded = true;
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void reindex(Long productoId) {
+        afterCommit(() -> readTransaction.executeWithoutResult(status ->
+                productoRepository.findSearchDocument(productoId).ifPresentOrElse(this::index, () -> remove(productoId))));
+    }
+
+    public void reindexCategory(Long categoryId) {
+        afterCommit(() -> readTransaction.executeWithoutResult(status ->
+                productoRepository.findSearchDocumentsByCategoryId(categoryId).forEach(this::index)));
+    }
+
+    public void delete(Long productoId) {
+        afterCommit(() -> remove(productoId));
+    }
+
+    /**
+     * Drops every producto of a category deleted with bulk SQL.
+     */
+    public void deleteCategory(Long categoryId) {
+        afterCommit(() -> apply(current -> current.removeCategory(categoryId)));
+    }
+
+    /**
+     * Returns up to {@code limit} producto ids, best match first, that match every token
+     * of {@code query}, along with the total number of matches.
+     */
+    public Hits search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new Hits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            Matches result = null;
+            for (String token : tokens) {
+                Matches matches = current.match(token);
+                result = result == null ? matches : result.intersect(matches);
+                if (result.size == 0) {
+                    return new Hits(List.of(), 0);
+                }
+            }
+            return current.top(result, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Segment load() {
+        Segment fresh = new Segment();
+        readTransaction.executeWithoutResult(status -> {
+            try (Stream<ProductoSearchDocument> documents = productoRepository.streamSearchDocuments()) {
+                documents.forEach(fresh::add);
+            }
+        });
+        return fresh;
+    }
+
+    private void index(ProductoSearchDocument document) {
+        apply(current -> current.index(document));
+    }
+
+    private void remove(Long productoId) {
+        apply(current -> current.remove(productoId));
+    }
+
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> weights, String text, int weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Integer::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(normalized)) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isFuzzy(String term, int minLength) {
+        return term.length() >= minLength && term.chars().allMatch(Character::isLetter);
+    }
+
+    private static int maxEdits(int tokenLength) {
+        return tokenLength >= 8 ? 2 : 1;
+    }
+
+    /**
+     * Edit distance check (Levenshtein plus adjacent transpositions, the commonest typo) that
+     * gives up once two consecutive rows both exceed {@code maxEdits}.
+     */
+    static boolean withinDistance(String a, String b, int maxEdits) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        int previousRowMin = 0;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits && previousRowMin > maxEdits) {
+                return false;
+            }
+            previousRowMin = rowMin;
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * One generation of the index. Only touched under {@link #lock}, except while a rebuild
+     * is still loading it and nothing else can see it yet.
+     */
+    private static final class Segment {
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private FuzzyTerms fuzzyTerms = new FuzzyTerms();
+        private long[] productIds = new long[1024];
+        private long[] categoryIds = new long[1024];
+        private int docCount;
+        private BitSet deleted = new BitSet();
+        private int deletedCount;
+        private LongIntMap docsByProduct = new LongIntMap(1024);
+
+        void index(ProductoSearchDocument document) {
+            markDeleted(document.getId());
+            add(document);
+            compactIfNeeded();
+        }
+
+        void remove(long productoId) {
+            markDeleted(productoId);
+            compactIfNeeded();
+        }
+
+        void removeCategory(long categoryId) {
+            for (int doc = 0; doc < docCount; doc++) {
+                if (categoryIds[doc] == categoryId && !deleted.get(doc)) {
+                    markDeleted(productIds[doc]);
+                }
+            }
+            compactIfNeeded();
+        }
+
+        void add(ProductoSearchDocument document) {
+            Map<String, Integer> weights = new HashMap<>();
+            addTerms(weights, document.getName(), NAME_WEIGHT);
+            addTerms(weights, document.getCategoryName(), CATEGORY_WEIGHT);
+            addTerms(weights, document.getDescription(), DESCRIPTION_WEIGHT);
+
+            int doc = docCount++;
+            if (doc == productIds.length) {
+                productIds = Arrays.copyOf(productIds, doc * 2);
+                categoryIds = Arrays.copyOf(categoryIds, doc * 2);
+            }
+            productIds[doc] = document.getId();
+            categoryIds[doc] = document.getCategoryId() == null ? 0 : document.getCategoryId();
+            docsByProduct.put(document.getId(), doc);
+            weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> {
+                fuzzyTerms.add(t);
+                return new Postings();
+            }).add(doc, weight));
+        }
+
+        private void markDeleted(long productoId) {
+            int doc = docsByProduct.remove(productoId);
+            if (doc >= 0 && !deleted.get(doc)) {
+                deleted.set(doc);
+                deletedCount++;
+            }
+        }
+
+        private void compactIfNeeded() {
+            if (deletedCount < 1024 || deletedCount * 2 < docCount) {
+                return;
+            }
+            int[] remap = new int[docCount];
+            int live = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (deleted.get(doc)) {
+                    remap[doc] = -1;
+                } else {
+                    remap[doc] = live;
+                    productIds[live] = productIds[doc];
+                    categoryIds[live] = categoryIds[doc];
+                    live++;
+                }
+            }
+            if (terms.values().removeIf(postings -> postings.compact(remap) == 0)) {
+                fuzzyTerms = new FuzzyTerms();
+                terms.keySet().forEach(fuzzyTerms::add);
+            }
+            docsByProduct = new LongIntMap(live);
+            for (int doc = 0; doc < live; doc++) {
+                docsByProduct.put(productIds[doc], doc);
+            }
+            docCount = live;
+            deleted = new BitSet();
+            deletedCount = 0;
+        }
+
+        Matches match(String token) {
+            List<Postings> postings = new ArrayList<>();
+            List<Float> factors = new ArrayList<>();
+
+            Postings exact = terms.get(token);
+            if (exact != null) {
+                postings.add(exact);
+                factors.add(1f);
+            }
+
+            NavigableMap<String, Postings> prefixed = terms.subMap(token, false, token + Character.MAX_VALUE, false);
+            int expansions = 0;
+            for (Postings candidate : prefixed.values()) {
+                if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                postings.add(candidate);
+                factors.add(PREFIX_FACTOR);
+            }
+
+            // Model numbers and codes must match as typed
+            if (isFuzzy(token, MIN_FUZZY_LENGTH)) {
+                int maxEdits = maxEdits(token.length());
+                for (String term : fuzzyTerms.candidates(token, maxEdits)) {
+                    if (!term.startsWith(token) && withinDistance(token, term, maxEdits)) {
+                        postings.add(terms.get(term));
+                        factors.add(FUZZY_FACTOR);
+                    }
+                }
+            }
+
+            return Matches.union(postings, factors, docCount);
+        }
+
+        Hits top(Matches matches, int limit) {
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+                    (a, b) -> Float.compare(matches.scores[a], matches.scores[b]));
+            int total = 0;
+            for (int i = 0; i < matches.size; i++) {
+                if (deleted.get(matches.docs[i])) {
+                    continue;
+                }
+                total++;
+                best.add(i);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            Long[] ranked = new Long[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = productIds[matches.docs[best.poll()]];
+            }
+            return new Hits(List.of(ranked), total);
+        }
+    }
+
+    public static class Hits {
+        private final List<Long> productIds;
+        private final int total;
+
+        Hits(List<Long> productIds, int total) {
+            this.productIds = productIds;
+            this.total = total;
+        }
+
+        public List<Long> getProductIds() {
+            return productIds;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        int compact(int[] remap) {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[live] = doc;
+                    weights[live] = weights[i];
+                    live++;
+                }
+            }
+            size = live;
+            if (docs.length > 16 && size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+                weights = Arrays.copyOf(weights, docs.length);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Deletion neighbourhood of the term dictionary. Each term is filed under every string
+     * left after deleting up to as many characters as the longest token that could reach it
+     * allows edits. Two strings within k edits (transpositions included) always share a
+     * string reachable with at most k deletions from each, so a query token only looks up
+     * its own deletions and verifies what it finds there. Keys are 64-bit hashes of those
+     * strings; a collision only adds a candidate that fails verification.
+     */
+    private static final class FuzzyTerms {
+        private static final long EMPTY = 0;
+
+        private final List<String> vocabulary = new ArrayList<>();
+        private long[] keys = new long[1024];
+        private int[] heads = new int[1024];
+        private int keyCount;
+        private int[] next = new int[1024];
+        private int[] termOf = new int[1024];
+        private int entryCount;
+
+        void add(String term) {
+            if (!isFuzzy(term, MIN_FUZZY_LENGTH - 1)) {
+                return;
+            }
+            int ordinal = vocabulary.size();
+            vocabulary.add(term);
+            for (String variant : deletions(term, maxEdits(term.length() + 2))) {
+                file(hash(variant), ordinal);
+            }
+        }
+
+        List<String> candidates(String token, int maxEdits) {
+            BitSet seen = new BitSet(vocabulary.size());
+            List<String> candidates = new ArrayList<>();
+            for (String variant : deletions(token, maxEdits)) {
+                long key = hash(variant);
+                int slot = slot(key);
+                while (keys[slot] != EMPTY && keys[slot] != key) {
+                    slot = (slot + 1) & (keys.length - 1);
+                }
+                if (keys[slot] == EMPTY) {
+                    continue;
+                }
+                for (int entry = heads[slot]; entry >= 0; entry = next[entry]) {
+                    int ordinal = termOf[entry];
+                    if (Math.abs(vocabulary.get(ordinal).length() - token.length()) <= maxEdits && !seen.get(ordinal)) {
+                        seen.set(ordinal);
+                        candidates.add(vocabulary.get(ordinal));
+                    }
+                }
+            }
+            return candidates;
+        }
+
+        private void file(long key, int ordinal) {
+            if ((keyCount + 1) * 2 > keys.length) {
+                resize();
+            }
+            if (entryCount == next.length) {
+                next = Arrays.copyOf(next, entryCount * 2);
+                termOf = Arrays.copyOf(termOf, entryCount * 2);
+            }
+            int slot = slot(key);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                heads[slot] = -1;
+                keyCount++;
+            }
+            termOf[entryCount] = ordinal;
+            next[entryCount] = heads[slot];
+            heads[slot] = entryCount++;
+        }
+
+        private int slot(long key) {
+            return (int) (key ^ (key >>> 32)) & (keys.length - 1);
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldHeads = heads;
+            keys = new long[oldKeys.length * 2];
+            heads = new int[keys.length];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i]);
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & (keys.length - 1);
+                    }
+                    keys[slot] = oldKeys[i];
+                    heads[slot] = oldHeads[i];
+                }
+            }
+        }
+
+        private static Set<String> deletions(String word, int maxDeletions) {
+            Set<String> variants = new HashSet<>();
+            variants.add(word);
+            List<String> level = List.of(word);
+            for (int deleted = 0; deleted < maxDeletions; deleted++) {
+                List<String> nextLevel = new ArrayList<>();
+                for (String variant : level) {
+                    for (int i = 0; i < variant.length(); i++) {
+                        String shorter = variant.substring(0, i) + variant.substring(i + 1);
+                        if (variants.add(shorter)) {
+                            nextLevel.add(shorter);
+                        }
+                    }
+                }
+                level = nextLevel;
+            }
+            return variants;
+        }
+
+        /**
+         * FNV-1a, with 0 moved aside since it marks empty slots.
+         */
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+            }
+            return hash == EMPTY ? 1 : hash;
+        }
+    }
+
+    /**
+     * Docs matching one query token, sorted by doc id, with their scores.
+     */
+    private static final class Matches {
+        private final int[] docs;
+        private final float[] scores;
+        private final int size;
+
+        private Matches(int[] docs, float[] scores, int size) {
+            this.docs = docs;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        /**
+         * Merges the postings of every term a token expanded to, keeping each doc's best score.
+         */
+        static Matches union(List<Postings> postings, List<Float> factors, int docCount) {
+            int total = 0;
+            for (Postings list : postings) {
+                total += list.size;
+            }
+            // doc id in the high bits, entry index in the low bits: sorting orders by doc
+            long[] entries = new long[total];
+            float[] entryScores = new float[total];
+            int n = 0;
+            for (int p = 0; p < postings.size(); p++) {
+                Postings list = postings.get(p);
+                float idf = (float) Math.log(1 + (double) docCount / list.size);
+                for (int i = 0; i < list.size; i++) {
+                    entries[n] = ((long) list.docs[i] << 32) | n;
+                    entryScores[n] = factors.get(p) * list.weights[i] * idf;
+                    n++;
+                }
+            }
+            Arrays.sort(entries);
+
+            int[] docs = new int[total];
+            float[] scores = new float[total];
+            int size = 0;
+            for (long entry : entries) {
+                int doc = (int) (entry >>> 32);
+                float score = entryScores[(int) entry];
+                if (size > 0 && docs[size - 1] == doc) {
+                    scores[size - 1] = Math.max(scores[size - 1], score);
+                } else {
+                    docs[size] = doc;
+                    scores[size] = score;
+                    size++;
+                }
+            }
+            return new Matches(docs, scores, size);
+        }
+
+        Matches intersect(Matches other) {
+            int[] docs = new int[Math.min(size, other.size)];
+            float[] scores = new float[docs.length];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.size) {
+                if (this.docs[i] < other.docs[j]) {
+                    i++;
+                } else if (this.docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    docs[n] = this.docs[i];
+                    scores[n] = this.scores[i] + other.scores[j];
+                    n++;
+                    i++;
+                    j++;
+                }
+            }
+            return new Matches(docs, scores, n);
+        }
+    }
+
+    /**
+     * Open-addressing map from producto id to doc id, avoiding a boxed entry per product.
+     */
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int slot = slot(key);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (keys[slot] == EMPTY) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        /**
+         * Removes the key and returns its value, or -1 when absent.
+         */
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int slot = slot(key);
+            while (keys[slot] != key) {
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int value = values[slot];
+            keys[slot] = EMPTY;
+            size--;
+
+            // Shift later entries of the probe run back so lookups don't stop early
+            int next = (slot + 1) & mask;
+            while (keys[next] != EMPTY) {
+                long movedKey = keys[next];
+                int movedValue = values[next];
+                keys[next] = EMPTY;
+                size--;
+                put(movedKey, movedValue);
+                next = (next + 1) & mask;
+            }
+            return value;
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & (keys.length - 1);
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[keys.length];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+}
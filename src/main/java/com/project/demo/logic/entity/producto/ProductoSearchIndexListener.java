@@ -0,0 +1,39 @@
+package com.project.demo.logic.entity.producto;
+
+import com.project.demo.logic.entity.category.Category;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@link Producto} and {@link Category} that keeps
+ * {@link ProductoSearchIndex} current; a category rename reindexes its productos.
+ */
+@Component
+public class ProductoSearchIndexListener {
+    private final ProductoSearchIndex productoSearchIndex;
+
+    // Lazy: Hibernate builds its listeners before the repositories the index depends on exist
+    public ProductoSearchIndexListener(@Lazy ProductoSearchIndex productoSearchIndex) {
+        this.productoSearchIndex = productoSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof Producto producto) {
+            productoSearchIndex.reindex(producto.getId());
+        } else if (entity instanceof Category category) {
+            productoSearchIndex.reindexCategory(category.getId());
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Producto producto) {
+            productoSearchIndex.delete(producto.getId());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.demo.logic.entity.producto;
+
+import com.project.demo.logic.entity.category.CategoryStatsRollup;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.responseCache.ResponseCache;
+import com.project.demo.logic.exceptions.InsufficientStockException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Restocks and write-offs made by an admin. They go through the same kind of conditional
+ * {@code UPDATE} as a checkout reservation, relative to the stored stock, so they add to
+ * concurrent reservations instead of overwriting them the way setting an absolute value
+ * read earlier would.
+ */
+@Service
+public class ProductoStockService {
+    private final ProductoRepository productoRepository;
+    private final CategoryStatsRollup categoryStatsRollup;
+    private final CountCache countCache;
+    private final ResponseCache responseCache;
+
+    public ProductoStockService(
+            ProductoRepository productoRepository,
+            CategoryStatsRollup categoryStatsRollup,
+            CountCache countCache,
+            ResponseCache responseCache
+    ) {
+        this.productoRepository = productoRepository;
+        this.categoryStatsRollup = categoryStatsRollup;
+        this.countCache = countCache;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Adds {@code delta} units, negative to take them, and returns the updated producto;
+     * empty when it doesn't exist. Fails with an InsufficientStockException when fewer
+     * than {@code -delta} units are left.
+     */
+    public Optional<Producto> adjust(Long id, int delta) {
+        Optional<Long> categoryId = productoRepository.findById(id).map(producto -> producto.getCategory().getId());
+        if (categoryId.isEmpty()) {
+            return Optional.empty();
+        }
+        if (productoRepository.adjustStock(id, delta) == 0) {
+            throw new InsufficientStockException(id);
+        }
+
+        categoryStatsRollup.adjustStock(id, delta);
+        // The update moved updatedAt without going through the entity listeners
+        countCache.invalidateFiltered("Producto");
+        responseCache.evictProducto(id, categoryId.get());
+        return productoRepository.findById(id);
+    }
+}
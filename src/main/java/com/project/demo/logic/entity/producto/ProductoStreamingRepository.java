@@ -0,0 +1,18 @@
+package com.project.demo.logic.entity.producto;
+
+import com.project.demo.logic.entity.category.ProductoStatsRow;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+/**
+ * Queries read through a cursor with {@link com.project.demo.logic.entity.http.StreamingQueries},
+ * whose fetch size depends on the database and so can't be a {@code @QueryHints} constant.
+ */
+public interface ProductoStreamingRepository {
+    Stream<Producto> streamAllBy(Pageable pageable);
+
+    Stream<ProductoSearchDocument> streamSearchDocuments();
+
+    Stream<ProductoStatsRow> streamStatsRows();
+}
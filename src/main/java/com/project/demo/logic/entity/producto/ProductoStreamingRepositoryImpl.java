@@ -0,0 +1,36 @@
+package com.project.demo.logic.entity.producto;
+
+import com.project.demo.logic.entity.category.ProductoStatsRow;
+import com.project.demo.logic.entity.http.StreamingQueries;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+class ProductoStreamingRepositoryImpl implements ProductoStreamingRepository {
+    private final StreamingQueries streamingQueries;
+
+    ProductoStreamingRepositoryImpl(StreamingQueries streamingQueries) {
+        this.streamingQueries = streamingQueries;
+    }
+
+    @Override
+    public Stream<Producto> streamAllBy(Pageable pageable) {
+        return streamingQueries.createQuery("SELECT p FROM Producto p LEFT JOIN FETCH p.category ORDER BY p.id", Producto.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<ProductoSearchDocument> streamSearchDocuments() {
+        return streamingQueries.createQuery("SELECT new " + ProductoSearchDocument.NAME
+                + "(p.id, p.name, p.description, c.id, c.name) FROM Producto p LEFT JOIN p.category c",
+                ProductoSearchDocument.class).getResultStream();
+    }
+
+    @Override
+    public Stream<ProductoStatsRow> streamStatsRows() {
+        return streamingQueries.createQuery("SELECT new " + ProductoStatsRow.NAME
+                + "(p.id, p.category.id, p.price, p.stock) FROM Producto p", ProductoStatsRow.class).getResultStream();
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.demo.logic.entity.producto;
+
+/**
+ * Body of {@code POST /productos/{id}/stock}: the units to add, negative to take them.
+ */
+public class StockAdjustment {
+    private int delta;
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public void setDelta(int delta) {
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,214 @@
+package com.project.demo.logic.entity.projection;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.project.demo.logic.entity.http.Cursor;
+import com.project.demo.logic.entity.http.Meta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the {@code ?fields=} parameter of the list endpoints. Only the requested columns
+ * are selected, through a Criteria tuple query, so associations and unrequested columns
+ * are never fetched; rows come back as maps in the requested order, always including
+ * {@code id} so keyset cursors keep working.
+ */
+@Service
+public class ProjectionService {
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, Set<String>> selectableFields = new ConcurrentHashMap<>();
+
+    public ProjectionService(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Loads the page or keyset window selected by {@code after} / {@code pageable} and fills
+     * the paging fields of {@code meta} the same way the full-entity endpoints do.
+     *
+     * @param filters equality filters keyed by attribute path, e.g. {@code category.id}
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> find(Class<?> entityType, String fields, Map<String, Object> filters,
+                                          String after, Pageable pageable, Meta meta) {
+        List<String> selected = parseFields(entityType, fields);
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Map<String, Object>> window = findWindow(entityType, selected, filters, position, pageable.getPageSize());
+            meta.setPageSize(pageable.getPageSize());
+            Cursor.setCursors(meta, window, position);
+            return window.getContent();
+        }
+
+        List<Map<String, Object>> rows = query(entityType, selected, filters, null, true,
+                (int) pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        meta.setSlice(new SliceImpl<>(rows, pageable, hasNext));
+        return rows;
+    }
+
+    /**
+     * Projects entities that were already loaded, for lists that no single query over
+     * {@code entityType} can produce. Only the selected properties are read, so lazy
+     * associations stay unloaded.
+     *
+     * @param selected fields as returned by {@link #parseFields}
+     */
+    public List<Map<String, Object>> project(List<?> entities, List<String> selected) {
+        List<Map<String, Object>> rows = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : selected) {
+                row.put(field, wrapper.getPropertyValue(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public List<String> parseFields(Class<?> entityType, String fields) {
+        Set<String> selectable = selectableFields.computeIfAbsent(entityType, this::loadSelectableFields);
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(ID);
+        for (String field : fields.split(",")) {
+            field = field.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!selectable.contains(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "' for " + entityType.getSimpleName()
+                        + ", expected one of " + selectable);
+            }
+            selected.add(field);
+        }
+        return new ArrayList<>(selected);
+    }
+
+    private Window<Map<String, Object>> findWindow(Class<?> entityType, List<String> selected, Map<String, Object> filters,
+                                                   KeysetScrollPosition position, int limit) {
+        Object fromId = position.isInitial() ? null : position.getKeys().get(ID);
+        boolean backward = position.scrollsBackward();
+
+        List<Map<String, Object>> rows = query(entityType, selected, filters, fromId, !backward, 0, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+        if (backward) {
+            rows = new ArrayList<>(rows);
+            Collections.reverse(rows);
+        }
+
+        List<Map<String, Object>> content = rows;
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(ID, content.get(index).get(ID))), hasNext);
+    }
+
+    private List<Map<String, Object>> query(Class<?> entityType, List<String> selected, Map<String, Object> filters,
+                                            Object fromId, boolean ascending, int offset, int maxResults) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<?> root = query.from(entityType);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String field : selected) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+
+        List<Predicate> predicates = new ArrayList<>();
+        filters.forEach((attributePath, value) -> predicates.add(builder.equal(path(root, attributePath), value)));
+        if (fromId != null) {
+            Path<Long> id = root.get(ID);
+            Long from = ((Number) fromId).longValue();
+            predicates.add(ascending ? builder.greaterThan(id, from) : builder.lessThan(id, from));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(ascending ? builder.asc(root.get(ID)) : builder.desc(root.get(ID)));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(maxResults)
+                .getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Path<?> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    /**
+     * Basic (column-backed) attributes of the entity that its JSON representation already
+     * exposes, so a projection can never reveal a field the full response hides.
+     */
+    private Set<String> loadSelectableFields(Class<?> entityType) {
+        EntityType<?> entity = entityManager.getMetamodel().entity(entityType);
+        BeanDescription description = objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(entityType));
+        Set<String> serialized = new TreeSet<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.couldSerialize()) {
+                serialized.add(property.getName());
+            }
+        }
+
+        Set<String> selectable = new TreeSet<>();
+        for (Attribute<?, ?> attribute : entity.getSingularAttributes()) {
+            if (attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+                    && serialized.contains(attribute.getName())) {
+                selectable.add(attribute.getName());
+            }
+        }
+        return Collections.unmodifiableSet(selectable);
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.demo.logic.entity.rateLimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits applied by {@link RateLimitFilter}. Rules are checked in order and the first
+ * one whose path pattern (and role, when set) matches the request wins; requests that
+ * match no rule use the default bucket size and refill rate.
+ */
+@Component
+@ConfigurationProperties(prefix = "security.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long capacity = 100;
+    private long refillPerSecond = 20;
+    private long idleEvictionSeconds = 600;
+    private List<Rule> rules = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(long capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getRefillPerSecond() {
+        return refillPerSecond;
+    }
+
+    public void setRefillPerSecond(long refillPerSecond) {
+        this.refillPerSecond = refillPerSecond;
+    }
+
+    public long getIdleEvictionSeconds() {
+        return idleEvictionSeconds;
+    }
+
+    public void setIdleEvictionSeconds(long idleEvictionSeconds) {
+        this.idleEvictionSeconds = idleEvictionSeconds;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static class Rule {
+        private String pattern;
+        private String role;
+        private long capacity;
+        private long refillPerSecond;
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(long refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.demo.logic.entity.rateLimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets. Buckets live in a ConcurrentHashMap, so lookups from
+ * different clients never share a lock, and a periodic sweep drops buckets that have
+ * been idle for {@code idleEvictionSeconds} to keep memory flat.
+ */
+@Component
+public class RateLimiter {
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Returns 0 when the request may proceed, or the nanoseconds until the client's
+     * bucket has a token again.
+     */
+    public long tryAcquire(String path, Authentication authentication, String remoteAddress) {
+        int ruleIndex = matchRule(path, authentication);
+        long capacity = ruleIndex < 0 ? properties.getCapacity() : properties.getRules().get(ruleIndex).getCapacity();
+        long refill = ruleIndex < 0 ? properties.getRefillPerSecond() : properties.getRules().get(ruleIndex).getRefillPerSecond();
+
+        String client = isAuthenticated(authentication) ? "user:" + authentication.getName() : "ip:" + remoteAddress;
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(ruleIndex + "|" + client,
+                key -> new TokenBucket(capacity, refill, now));
+        return bucket.tryConsume(now);
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idle = TimeUnit.SECONDS.toNanos(properties.getIdleEvictionSeconds());
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idle));
+    }
+
+    private int matchRule(String path, Authentication authentication) {
+        List<RateLimitProperties.Rule> rules = properties.getRules();
+        for (int i = 0; i < rules.size(); i++) {
+            RateLimitProperties.Rule rule = rules.get(i);
+            if (pathMatcher.match(rule.getPattern(), path) && hasRole(authentication, rule.getRole())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean hasRole(Authentication authentication, String role) {
+        if (role == null) {
+            return true;
+        }
+        if (!isAuthenticated(authentication)) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (authority.getAuthority().equals("ROLE_" + role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated() && authentication.getName() != null;
+    }
+}
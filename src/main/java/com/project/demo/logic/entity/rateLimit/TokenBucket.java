@@ -0,0 +1,64 @@
+package com.project.demo.logic.entity.rateLimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The available tokens (scaled by 1000 so fractional refills
+ * aren't lost) and the last refill time are updated together with compare-and-set.
+ */
+class TokenBucket {
+    private static final long SCALE = 1000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_REFILL_NANOS = 3_600_000_000_000L;
+    // Keeps the sub-second part of a refill, remainder * rate * SCALE, within a long
+    private static final long MAX_REFILL_PER_SECOND = Long.MAX_VALUE / NANOS_PER_SECOND / SCALE;
+
+    private final long capacity;
+    private final long refillPerSecond;
+    private final AtomicLong tokens;
+    private final AtomicLong lastRefillNanos;
+    private volatile long lastAccessNanos;
+
+    TokenBucket(long capacity, long refillPerSecond, long nowNanos) {
+        this.capacity = capacity * SCALE;
+        // Anything above this is effectively unlimited anyway
+        this.refillPerSecond = Math.min(refillPerSecond, MAX_REFILL_PER_SECOND);
+        this.tokens = new AtomicLong(this.capacity);
+        this.lastRefillNanos = new AtomicLong(nowNanos);
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token, returning 0 when allowed or the nanoseconds to wait otherwise.
+     */
+    long tryConsume(long nowNanos) {
+        lastAccessNanos = nowNanos;
+        refill(nowNanos);
+        while (true) {
+            long available = tokens.get();
+            if (available < SCALE) {
+                long missing = SCALE - available;
+                return Math.max(1, missing * NANOS_PER_SECOND / Math.max(1, refillPerSecond * SCALE));
+            }
+            if (tokens.compareAndSet(available, available - SCALE)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - lastAccessNanos > idleNanos;
+    }
+
+    private void refill(long nowNanos) {
+        long last = lastRefillNanos.get();
+        long elapsed = Math.min(nowNanos - last, MAX_REFILL_NANOS);
+        // Whole seconds and the remainder separately, so the product can't overflow
+        long perSecond = refillPerSecond * SCALE;
+        long added = elapsed / NANOS_PER_SECOND * perSecond + elapsed % NANOS_PER_SECOND * perSecond / NANOS_PER_SECOND;
+        if (added <= 0 || !lastRefillNanos.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        tokens.accumulateAndGet(added, (current, delta) -> Math.min(capacity, current + delta));
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.demo.logic.entity.responseCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process LRU cache of serialized catalog responses, bounded by total body size.
+ * Entries carry tags such as {@code producto:12} or {@code category:3}; writes evict the
+ * tags they affect. A response loaded while an eviction ran is not stored, so a read
+ * that raced a write can't put stale bytes back.
+ */
+@Component
+public class ResponseCache {
+    static final String PRODUCTOS = "productos";
+    static final String CATEGORIES = "categories";
+    static final String PRODUCTO_PREFIX = "producto:";
+    static final String CATEGORY_PREFIX = "category:";
+    /**
+     * Tag shared by every single-producto entry; each producto embeds its category, so
+     * editing a category invalidates all of them.
+     */
+    static final String ANY_PRODUCTO = "producto";
+
+    private final long maxBytes;
+    private final int gzipMinBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long totalBytes;
+
+    public ResponseCache(
+            @Value("${catalog.cache.max-bytes:33554432}") long maxBytes,
+            @Value("${catalog.cache.gzip-min-bytes:1024}") int gzipMinBytes,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxBytes = maxBytes;
+        this.gzipMinBytes = gzipMinBytes;
+        this.hits = Counter.builder("catalog.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("catalog.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("catalog.cache.evictions").register(meterRegistry);
+        Gauge.builder("catalog.cache.entries", this, ResponseCache::size).register(meterRegistry);
+        Gauge.builder("catalog.cache.bytes", this, ResponseCache::bytes).register(meterRegistry);
+    }
+
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Current invalidation generation; pass it back to {@link #put} to drop the entry if
+     * anything was evicted while the response was being built.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String key, Set<String> tags, long loadedAtGeneration,
+                    String contentType, String eTag, byte[] body) {
+        if (body.length > maxBytes) {
+            return;
+        }
+        Entry entry = new Entry(tags, contentType, eTag, body, body.length >= gzipMinBytes ? gzip(body) : null);
+        synchronized (this) {
+            if (generation.get() != loadedAtGeneration) {
+                return;
+            }
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            totalBytes += entry.size();
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().size();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Evicts every entry showing the producto: its own entry, the producto and category
+     * lists, and the lists of the given categories (pass both when it changed category).
+     */
+    public void evictProducto(Long productoId, Long... categoryIds) {
+        Set<String> tags = new HashSet<>();
+        tags.add(PRODUCTOS);
+        tags.add(CATEGORIES);
+        if (productoId != null) {
+            tags.add(PRODUCTO_PREFIX + productoId);
+        }
+        for (Long categoryId : categoryIds) {
+            tags.add(CATEGORY_PREFIX + categoryId);
+        }
+        evict(tags);
+    }
+
+    public void evictCategory(Long categoryId) {
+        evict(Set.of(CATEGORIES, PRODUCTOS, ANY_PRODUCTO, CATEGORY_PREFIX + categoryId));
+    }
+
+    /**
+     * Evicts the category lists alone, for when only derived figures such as stats changed.
+     */
+    public void evictCategoryLists() {
+        evict(Set.of(CATEGORIES));
+    }
+
+    public synchronized void evict(Set<String> tags) {
+        generation.incrementAndGet();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!Collections.disjoint(entry.tags, tags)) {
+                totalBytes -= entry.size();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return totalBytes;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    public static class Entry {
+        private final Set<String> tags;
+        private final String contentType;
+        private final String eTag;
+        private final byte[] body;
+        private final byte[] gzippedBody;
+
+        Entry(Set<String> tags, String contentType, String eTag, byte[] body, byte[] gzippedBody) {
+            this.tags = tags;
+            this.contentType = contentType;
+            this.eTag = eTag;
+            this.body = body;
+            this.gzippedBody = gzippedBody;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public byte[] getGzippedBody() {
+            return gzippedBody;
+        }
+
+        long size() {
+            return body.length + (gzippedBody == null ? 0 : gzippedBody.length);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.project.demo.logic.entity.responseCache;
+
+import com.project.demo.logic.entity.http.ETags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the catalog GET routes from {@link ResponseCache}. It runs after the security
+ * chain, so the caller is authenticated, and keys entries by role, because every catalog
+ * route is authorized by role alone. Hits are written straight from the cached bytes
+ * without reaching the controller, the database or Jackson.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    private static final Pattern PRODUCTO = Pattern.compile("/productos/(\\d+)");
+    private static final Pattern PRODUCTOS_BY_CATEGORY = Pattern.compile("/productos/category/(\\d+)");
+    private static final Pattern CATEGORY_PRODUCTOS = Pattern.compile("/categories/(\\d+)/productos");
+
+    private final ResponseCache responseCache;
+
+    @Value("${catalog.cache.enabled:true}")
+    private boolean enabled;
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod()) || request.getParameter("stream") != null) {
+            return true;
+        }
+        // The cache holds JSON only; binary formats go through the normal path
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && (accept.contains("cbor") || accept.contains("smile"));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Set<String> tags = tagsFor(request.getRequestURI().substring(request.getContextPath().length()));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (tags == null || authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = key(request, authentication);
+        ResponseCache.Entry cached = responseCache.get(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        long generation = responseCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (wrapper.getStatus() == HttpStatus.OK.value() && !request.isAsyncStarted()) {
+                responseCache.put(key, tags, generation, wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.ETAG), wrapper.getContentAsByteArray());
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static Set<String> tagsFor(String path) {
+        if (path.equals("/productos")) {
+            return Set.of(ResponseCache.PRODUCTOS);
+        }
+        if (path.equals("/categories")) {
+            return Set.of(ResponseCache.CATEGORIES);
+        }
+        Matcher matcher = PRODUCTO.matcher(path);
+        if (matcher.matches()) {
+            return Set.of(ResponseCache.ANY_PRODUCTO, ResponseCache.PRODUCTO_PREFIX + matcher.group(1));
+        }
+        matcher = PRODUCTOS_BY_CATEGORY.matcher(path);
+        if (!matcher.matches()) {
+            matcher = CATEGORY_PRODUCTOS.matcher(path);
+        }
+        if (matcher.matches()) {
+            return Set.of(ResponseCache.CATEGORY_PREFIX + matcher.group(1));
+        }
+        return null;
+    }
+
+    private static String key(HttpServletRequest request, Authentication authentication) {
+        String roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+        String query = request.getQueryString();
+        // JSON, CBOR and Smile bodies of the same URL are different entries
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return roles + " " + request.getRequestURL() + (query == null ? "" : "?" + query)
+                + (accept == null ? "" : " " + accept);
+    }
+
+    private static void write(ResponseCache.Entry cached, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        if (cached.getETag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.getETag());
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            if (ETags.isNotModified(request, cached.getETag())) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+        }
+
+        byte[] body = cached.getBody();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (cached.getGzippedBody() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = cached.getGzippedBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
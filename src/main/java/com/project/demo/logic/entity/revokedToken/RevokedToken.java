@@ -0,0 +1,53 @@
+package com.project.demo.logic.entity.revokedToken;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.util.Date;
+
+@Table(name = "revoked_token")
+@Entity
+public class RevokedToken {
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+
+    @CreationTimestamp
+    @Column(updatable = false, name = "created_at")
+    private Date createdAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String jti, Date expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,8 +1,17 @@
 package com.project.demo.logic.entity.team;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
+    Slice<Player> findAllBy(Pageable pageable);
+
+    Window<Player> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
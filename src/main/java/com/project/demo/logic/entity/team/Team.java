@@ -1,13 +1,18 @@
 package com.project.demo.logic.entity.team;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.util.List;
 
 @Entity
+@EntityListeners(CountCacheInvalidator.class)
 public class Team {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("team")
     private Long id;
     private String name;
     private String stadium;
@@ -16,7 +21,8 @@ public class Team {
     private Boolean isInClubsWorldCup;
     private String teamLogo;
 
-    @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JsonManagedReference
     private List<Player> players;
 
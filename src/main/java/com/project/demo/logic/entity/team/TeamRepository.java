@@ -1,8 +1,24 @@
 package com.project.demo.logic.entity.team;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
+    @Override
+    @EntityGraph(attributePaths = "players")
+    Optional<Team> findById(Long id);
+
+    Slice<Team> findAllBy(Pageable pageable);
+
+    Window<Team> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
@@ -1,7 +1,10 @@
 package com.project.demo.logic.entity.user;
 import com.project.demo.logic.entity.order.Order;
 import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.idGenerator.PooledId;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,9 +17,10 @@ import java.util.List;
 
 @Table(name = "user")
 @Entity
+@EntityListeners(CountCacheInvalidator.class)
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId("user")
     private Long id;
     private String name;
     private String lastname;
@@ -44,7 +48,8 @@ public class User implements UserDetails {
     @JoinColumn(name = "role_id", referencedColumnName = "id", nullable = false)
     private Role role;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<Order> orders;
 
     // Constructors
@@ -0,0 +1,167 @@
+package com.project.demo.logic.entity.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.bulk.BulkRow;
+import com.project.demo.logic.entity.bulk.BulkRowReader;
+import com.project.demo.logic.entity.bulk.BulkRowResult;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.idGenerator.IdAllocator;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.rol.RoleRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Creates users in bulk from a streamed NDJSON or CSV upload with the columns
+ * {@code name, lastname, email, password}. Each batch is checked against existing
+ * emails with one query, hashed in parallel and written with a single JDBC batch.
+ */
+@Service
+public class UserProvisioningService {
+    private static final String INSERT_USER =
+            "INSERT INTO `user` (id, name, lastname, email, password, role_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final CountCache countCache;
+    private final IdAllocator idAllocator;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+
+    public UserProvisioningService(
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            CountCache countCache,
+            IdAllocator idAllocator,
+            PasswordEncoder passwordEncoder,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${users.provisioning.batch-size:500}") int batchSize
+    ) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.countCache = countCache;
+        this.idAllocator = idAllocator;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    public List<BulkRowResult> provision(InputStream inputStream, String contentType) {
+        Role role = roleRepository.findByName(RoleEnum.USER)
+                .orElseThrow(() -> new IllegalStateException("Role " + RoleEnum.USER + " not found"));
+        BulkRowReader reader = new BulkRowReader(inputStream, contentType, objectMapper);
+        List<BulkRowResult> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        List<BulkRow> batch;
+        while (!(batch = reader.nextBatch(batchSize)).isEmpty()) {
+            provisionBatch(batch, role, seenEmails, results);
+        }
+        // JDBC inserts bypass the entity listeners
+        countCache.invalidate("User");
+        return results;
+    }
+
+    private void provisionBatch(List<BulkRow> batch, Role role, Set<String> seenEmails, List<BulkRowResult> results) {
+        List<BulkRow> candidates = new ArrayList<>();
+        for (BulkRow row : batch) {
+            String email = row.get("email");
+            if (row.getParseError() != null) {
+                results.add(new BulkRowResult(row.getRowNumber(), email, BulkRowResult.FAILED, row.getParseError()));
+            } else if (email == null || row.get("password") == null) {
+                results.add(new BulkRowResult(row.getRowNumber(), email, BulkRowResult.FAILED, "email and password are required"));
+            } else if (!seenEmails.add(email.toLowerCase(Locale.ROOT))) {
+                results.add(new BulkRowResult(row.getRowNumber(), email, BulkRowResult.SKIPPED, "Duplicate email in upload"));
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = userRepository.findExistingEmails(
+                        candidates.stream().map(row -> row.get("email")).toList())
+                .stream().map(email -> email.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+
+        List<BulkRow> toInsert = new ArrayList<>();
+        for (BulkRow row : candidates) {
+            if (existing.contains(row.get("email").toLowerCase(Locale.ROOT))) {
+                results.add(new BulkRowResult(row.getRowNumber(), row.get("email"), BulkRowResult.SKIPPED, "Email already in use"));
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        long firstId = idAllocator.allocate(IdAllocator.USER, toInsert.size());
+        List<Object[]> rows = hashingPool.submit(() -> IntStream.range(0, toInsert.size()).parallel()
+                .mapToObj(i -> toParameters(firstId + i, toInsert.get(i), role))
+                .toList()).join();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, rows));
+            toInsert.forEach(row -> results.add(
+                    new BulkRowResult(row.getRowNumber(), row.get("email"), BulkRowResult.CREATED, null)));
+        } catch (DataAccessException batchFailure) {
+            // Someone else may have taken one of the emails meanwhile: retry row by row to isolate it
+            for (int i = 0; i < toInsert.size(); i++) {
+                BulkRow row = toInsert.get(i);
+                try {
+                    jdbcTemplate.update(INSERT_USER, rows.get(i));
+                    results.add(new BulkRowResult(row.getRowNumber(), row.get("email"), BulkRowResult.CREATED, null));
+                } catch (DataAccessException rowFailure) {
+                    results.add(new BulkRowResult(row.getRowNumber(), row.get("email"), BulkRowResult.FAILED,
+                            rowFailure.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+    }
+
+    private Object[] toParameters(long id, BulkRow row, Role role) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return new Object[] {
+                id,
+                row.get("name"),
+                row.get("lastname"),
+                row.get("email"),
+                passwordEncoder.encode(row.get("password")),
+                role.getId(),
+                now,
+                now
+        };
+    }
+}
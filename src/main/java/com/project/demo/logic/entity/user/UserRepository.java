@@ -1,12 +1,20 @@
 package com.project.demo.logic.entity.user;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long>  {
+public interface UserRepository extends JpaRepository<User, Long>, UserStreamingRepository {
     @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE %?1%")
     List<User> findUsersWithCharacterInName(String character);
 
@@ -15,5 +23,15 @@ public interface UserRepository extends JpaRepository<User, Long>  {
 
     Optional<User> findByLastname(String lastname);
 
+    @EntityGraph(attributePaths = "role")
     Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    @EntityGraph(attributePaths = "role")
+    Slice<User> findAllBy(Pageable pageable);
+
+    @EntityGraph(attributePaths = "role")
+    Window<User> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
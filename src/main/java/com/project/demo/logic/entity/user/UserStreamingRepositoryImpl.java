@@ -0,0 +1,22 @@
+package com.project.demo.logic.entity.user;
+
+import com.project.demo.logic.entity.http.StreamingQueries;
+import org.springframework.data.domain.Pageable;
+
+import java.util.stream.Stream;
+
+class UserStreamingRepositoryImpl implements UserStreamingRepository {
+    private final StreamingQueries streamingQueries;
+
+    UserStreamingRepositoryImpl(StreamingQueries streamingQueries) {
+        this.streamingQueries = streamingQueries;
+    }
+
+    @Override
+    public Stream<User> streamAllBy(Pageable pageable) {
+        return streamingQueries.createQuery("SELECT u FROM User u LEFT JOIN FETCH u.role ORDER BY u.id", User.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultStream();
+    }
+}
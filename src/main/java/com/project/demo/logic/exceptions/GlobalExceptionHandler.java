@@ -7,9 +7,12 @@ import org.springframework.http.ProblemDetail;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AccountStatusException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
@@ -26,6 +29,13 @@ public class GlobalExceptionHandler {
             return errorDetail;
         }
 
+        if (exception instanceof UsernameNotFoundException) {
+            errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(401), exception.getMessage());
+            errorDetail.setProperty("description", "The account no longer exists");
+
+            return errorDetail;
+        }
+
         if (exception instanceof AccountStatusException) {
             errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(403), exception.getMessage());
             errorDetail.setProperty("description", "The account is locked");
@@ -46,6 +56,37 @@ public class GlobalExceptionHandler {
             errorDetail.setProperty("description", "The JWT token has expired");
         }
 
+        if (exception instanceof IllegalArgumentException) {
+            errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(400), exception.getMessage());
+            errorDetail.setProperty("description", "The request contains an invalid parameter");
+        }
+
+        if (exception instanceof InsufficientStockException insufficientStock) {
+            errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(409), exception.getMessage());
+            errorDetail.setProperty("description", "One of the products is out of stock");
+            errorDetail.setProperty("productoId", insufficientStock.getProductoId());
+        }
+
+        if (exception instanceof IdempotencyKeyInProgressException) {
+            errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(409), exception.getMessage());
+            errorDetail.setProperty("description", "Retry once the original request has finished");
+        }
+
+        if (exception instanceof ReferencedAggregateException) {
+            errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(409), exception.getMessage());
+            errorDetail.setProperty("description", "Other records still reference it");
+        }
+
+        if (exception instanceof IdempotencyKeyReusedException) {
+            errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(422), exception.getMessage());
+            errorDetail.setProperty("description", "Use a new Idempotency-Key for a different request");
+        }
+
+        if (exception instanceof RejectedExecutionException) {
+            errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(503), exception.getMessage());
+            errorDetail.setProperty("description", "The server is busy, please try again later");
+        }
+
         if (errorDetail == null) {
             errorDetail = ProblemDetail.forStatusAndDetail(HttpStatusCode.valueOf(500), exception.getMessage());
             errorDetail.setProperty("description", "Unknown internal server error.");
@@ -0,0 +1,7 @@
+package com.project.demo.logic.exceptions;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    public IdempotencyKeyInProgressException() {
+        super("A request with this Idempotency-Key is still being processed");
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.demo.logic.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException() {
+        super("The Idempotency-Key was already used for a different request");
+    }
+}
@@ -0,0 +1,14 @@
+package com.project.demo.logic.exceptions;
+
+public class InsufficientStockException extends RuntimeException {
+    private final Long productoId;
+
+    public InsufficientStockException(Long productoId) {
+        super("Not enough stock for producto " + productoId);
+        this.productoId = productoId;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+}
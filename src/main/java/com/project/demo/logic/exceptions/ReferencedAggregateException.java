@@ -0,0 +1,13 @@
+package com.project.demo.logic.exceptions;
+
+import com.project.demo.logic.entity.bulk.BulkDeleteTarget;
+
+public class ReferencedAggregateException extends RuntimeException {
+    public ReferencedAggregateException(BulkDeleteTarget target, Long id, String referencingEntity, long rows) {
+        super(target + " " + id + " is referenced by " + rows + " " + referencingEntity + " rows");
+    }
+
+    public ReferencedAggregateException(BulkDeleteTarget target, Long id, Throwable cause) {
+        super(target + " " + id + " is referenced by other rows", cause);
+    }
+}
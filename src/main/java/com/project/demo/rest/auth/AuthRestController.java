@@ -2,12 +2,16 @@ package com.project.demo.rest.auth;
 
 import com.project.demo.logic.entity.auth.AuthenticationService;
 import com.project.demo.logic.entity.auth.JwtService;
+import com.project.demo.logic.entity.auth.LoginBulkhead;
+import com.project.demo.logic.entity.auth.TokenRevocationService;
+import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.rol.Role;
 import com.project.demo.logic.entity.rol.RoleEnum;
 import com.project.demo.logic.entity.rol.RoleRepository;
 import com.project.demo.logic.entity.user.LoginResponse;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RequestMapping("/auth")
 @RestController
@@ -37,27 +42,44 @@ public class AuthRestController {
 
     private final AuthenticationService authenticationService;
     private final JwtService jwtService;
+    private final LoginBulkhead loginBulkhead;
+    private final TokenRevocationService tokenRevocationService;
 
-    public AuthRestController(JwtService jwtService, AuthenticationService authenticationService) {
+    public AuthRestController(JwtService jwtService, AuthenticationService authenticationService,
+                              LoginBulkhead loginBulkhead, TokenRevocationService tokenRevocationService) {
         this.jwtService = jwtService;
         this.authenticationService = authenticationService;
+        this.loginBulkhead = loginBulkhead;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> authenticate(@RequestBody User user) {
-        User authenticatedUser = authenticationService.authenticate(user);
+    public CompletableFuture<ResponseEntity<LoginResponse>> authenticate(@RequestBody User user) {
+        return loginBulkhead.submit(() -> {
+            User authenticatedUser = authenticationService.authenticate(user);
 
-        String jwtToken = jwtService.generateToken(authenticatedUser);
+            String jwtToken = jwtService.generateToken(authenticatedUser);
 
-        LoginResponse loginResponse = new LoginResponse();
-        loginResponse.setToken(jwtToken);
-        loginResponse.setExpiresIn(jwtService.getExpirationTime());
+            LoginResponse loginResponse = new LoginResponse();
+            loginResponse.setToken(jwtToken);
+            loginResponse.setExpiresIn(jwtService.getExpirationTime());
+            loginResponse.setAuthUser(authenticatedUser);
 
-        Optional<User> foundedUser = userRepository.findByEmail(user.getEmail());
+            return ResponseEntity.ok(loginResponse);
+        });
+    }
 
-        foundedUser.ifPresent(loginResponse::setAuthUser);
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return new GlobalResponseHandler().handleResponse("Bearer token is required",
+                    HttpStatus.BAD_REQUEST, request);
+        }
 
-        return ResponseEntity.ok(loginResponse);
+        tokenRevocationService.revoke(jwtService.verify(authHeader.substring(7)));
+        return new GlobalResponseHandler().handleResponse("Logged out successfully",
+                HttpStatus.OK, request);
     }
 
     @PostMapping("/signup")
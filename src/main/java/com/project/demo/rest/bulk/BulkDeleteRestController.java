@@ -0,0 +1,36 @@
+package com.project.demo.rest.bulk;
+
+import com.project.demo.logic.entity.bulk.BulkDeleteJob;
+import com.project.demo.logic.entity.bulk.BulkDeleteService;
+import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/bulk-deletes")
+public class BulkDeleteRestController {
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getJob(@PathVariable String jobId, HttpServletRequest request) {
+        Optional<BulkDeleteJob> foundJob = bulkDeleteService.getJob(jobId);
+        if (foundJob.isPresent()) {
+            return new GlobalResponseHandler().handleResponse("Bulk delete retrieved successfully",
+                    foundJob.get(), HttpStatus.OK, request);
+        } else {
+            return new GlobalResponseHandler().handleResponse("Bulk delete " + jobId + " not found",
+                    HttpStatus.NOT_FOUND, request);
+        }
+    }
+}
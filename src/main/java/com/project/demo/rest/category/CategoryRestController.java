@@ -1,21 +1,34 @@
 package com.project.demo.rest.category;
 
+import com.project.demo.logic.entity.bulk.BulkDeleteService;
+import com.project.demo.logic.entity.bulk.BulkDeleteTarget;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
+import com.project.demo.logic.entity.http.ETags;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.category.Category;
 import com.project.demo.logic.entity.category.CategoryRepository;
+import com.project.demo.logic.entity.category.CategoryStatsRollup;
 import com.project.demo.logic.entity.producto.Producto;
 import com.project.demo.logic.entity.producto.ProductoRepository;
+import com.project.demo.logic.entity.projection.ProjectionService;
+import com.project.demo.logic.entity.responseCache.ResponseCache;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -25,24 +38,75 @@ public class CategoryRestController {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
     @Autowired
     private ProductoRepository productoRepository;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private CategoryStatsRollup categoryStatsRollup;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean withStats,
             HttpServletRequest request) {
 
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(Category.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (withStats) {
+                rows.forEach(row -> row.put("stats", categoryStatsRollup.get((Long) row.get("id"))));
+            }
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("Category", categoryRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Categorías recuperadas correctamente",
+                    rows, HttpStatus.OK, meta);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Category> window = categoryRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            if (withStats) {
+                window.forEach(category -> category.setStats(categoryStatsRollup.get(category.getId())));
+            }
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Categorías recuperadas correctamente",
+                    window.getContent(), HttpStatus.OK, meta);
+        }
+
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Category> ordersPage = categoryRepository.findAll(pageable);
+        Slice<Category> ordersPage = categoryRepository.findAllBy(pageable);
+        if (withStats) {
+            ordersPage.forEach(category -> category.setStats(categoryStatsRollup.get(category.getId())));
+        }
 
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(ordersPage.getTotalPages());
-        meta.setTotalElements(ordersPage.getTotalElements());
-        meta.setPageNumber(ordersPage.getNumber() + 1);
-        meta.setPageSize(ordersPage.getSize());
+        meta.setSlice(ordersPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("Category", categoryRepository::count));
+        }
 
         return new GlobalResponseHandler()
                 .handleResponse("Categorías recuperadas correctamente",
@@ -57,21 +121,53 @@ public class CategoryRestController {
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
         Optional<Category> foundCategory = categoryRepository.findById(categoryId);
         if(foundCategory.isPresent()) {
+            String eTag = ETags.of(countCache, "Producto:category=" + categoryId,
+                    () -> productoRepository.findListVersionByCategoryId(categoryId), request);
+            if (ETags.isNotModified(request, eTag)) {
+                return ETags.notModified(eTag);
+            }
+
+            if (fields != null) {
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                List<Map<String, Object>> rows = projectionService.find(Producto.class, fields, Map.of("category.id", categoryId),
+                        after, PageRequest.of(page - 1, size), meta);
+                if (after == null && withTotal) {
+                    meta.setTotal(countCache.get("Producto:category=" + categoryId, () -> productoRepository.countByCategoryId(categoryId)));
+                }
+
+                return new GlobalResponseHandler().handleResponse("Productos from category retrieved successfully",
+                        rows, HttpStatus.OK, meta, eTag);
+            }
+
+            if (after != null) {
+                KeysetScrollPosition position = Cursor.decode(after);
+                Window<Producto> window = productoRepository.findByCategoryId(categoryId, position, Cursor.SORT, Limit.of(size));
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                meta.setPageSize(size);
+                Cursor.setCursors(meta, window, position);
+
+                return new GlobalResponseHandler().handleResponse("Productos from category retrieved successfully",
+                        window.getContent(), HttpStatus.OK, meta, eTag);
+            }
+
             Pageable pageable = PageRequest.of(page-1, size);
-            Page<Producto> productosPage = productoRepository.findByCategoryId(categoryId, pageable);
+            Slice<Producto> productosPage = productoRepository.findByCategoryId(categoryId, pageable);
 
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(productosPage.getTotalPages());
-            meta.setTotalElements(productosPage.getTotalElements());
-            meta.setPageNumber(productosPage.getNumber() + 1);
-            meta.setPageSize(productosPage.getSize());
+            meta.setSlice(productosPage);
+            if (withTotal) {
+                meta.setTotal(countCache.get("Producto:category=" + categoryId, () -> productoRepository.countByCategoryId(categoryId)));
+            }
 
             return new GlobalResponseHandler().handleResponse("Productos from category retrieved successfully",
-                    productosPage.getContent(), HttpStatus.OK, meta);
+                    productosPage.getContent(), HttpStatus.OK, meta, eTag);
         } else {
             return new GlobalResponseHandler().handleResponse("Category " + categoryId + " not found",
                     HttpStatus.NOT_FOUND, request);
@@ -83,6 +179,7 @@ public class CategoryRestController {
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public ResponseEntity<?> addCategory(@RequestBody Category category, HttpServletRequest request) {
         Category savedOrder = categoryRepository.save(category);
+        responseCache.evictCategory(savedOrder.getId());
         return new GlobalResponseHandler().handleResponse("Category created successfully",
                 savedOrder, HttpStatus.CREATED, request);
     }
@@ -91,16 +188,23 @@ public class CategoryRestController {
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public ResponseEntity<?> editCategory(@RequestBody Category category, HttpServletRequest request) {
         Category savedOrder = categoryRepository.save(category);
+        responseCache.evictCategory(savedOrder.getId());
         return new GlobalResponseHandler().handleResponse("Category created successfully",
                 savedOrder, HttpStatus.CREATED, request);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<?> deleteOrder(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<?> deleteOrder(@PathVariable Long id,
+                                         @RequestParam(defaultValue = "false") boolean async,
+                                         HttpServletRequest request) {
         Optional<Category> foundItem = categoryRepository.findById(id);
         if(foundItem.isPresent()) {
-            categoryRepository.deleteById(foundItem.get().getId());
+            if (async) {
+                return new GlobalResponseHandler().handleResponse("Category deletion started",
+                        bulkDeleteService.submit(BulkDeleteTarget.CATEGORY, id), HttpStatus.ACCEPTED, request);
+            }
+            bulkDeleteService.delete(BulkDeleteTarget.CATEGORY, id);
             return new GlobalResponseHandler().handleResponse("Category deleted successfully",
                     foundItem.get(), HttpStatus.OK, request);
         } else {
@@ -118,6 +222,7 @@ public class CategoryRestController {
             Category category = foundCategory.get();
             producto.setCategory(category);
             Producto savedProducto = productoRepository.save(producto);
+            responseCache.evictProducto(savedProducto.getId(), categoryId);
             return new GlobalResponseHandler().handleResponse("Producto added to Category successfully",
                     savedProducto, HttpStatus.CREATED, request);
         } else {
@@ -136,6 +241,7 @@ public class CategoryRestController {
             Producto producto = foundProducto.get();
             if(producto.getCategory().getId().equals(categoryId)) {
                 productoRepository.deleteById(productoId);
+                responseCache.evictProducto(productoId, categoryId);
                 return new GlobalResponseHandler().handleResponse("Producto removed from Category successfully",
                         producto, HttpStatus.OK, request);
             } else {
@@ -0,0 +1,63 @@
+package com.project.demo.rest.export;
+
+import com.project.demo.logic.entity.export.ExportFormat;
+import com.project.demo.logic.entity.export.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Full dumps for the finance and data teams. The body is written on the request thread
+ * rather than as a {@code StreamingResponseBody}, so a long export isn't cut off by the
+ * async request timeout.
+ */
+@RestController
+@RequestMapping("/export")
+public class ExportRestController {
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/productos")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public void exportProductos(@RequestParam(defaultValue = "csv") String format,
+                                @RequestParam(defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        prepare(response, "productos", exportFormat, gzip);
+        exportService.exportProductos(exportFormat, gzip, response.getOutputStream());
+    }
+
+    @GetMapping("/orders")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public void exportOrders(@RequestParam(defaultValue = "csv") String format,
+                             @RequestParam(defaultValue = "false") boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        prepare(response, "orders", exportFormat, gzip);
+        exportService.exportOrders(exportFormat, gzip, response.getOutputStream());
+    }
+
+    @GetMapping("/users")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN')")
+    public void exportUsers(@RequestParam(defaultValue = "csv") String format,
+                            @RequestParam(defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        prepare(response, "users", exportFormat, gzip);
+        exportService.exportUsers(exportFormat, gzip, response.getOutputStream());
+    }
+
+    private static void prepare(HttpServletResponse response, String name, ExportFormat format, boolean gzip) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+    }
+}
@@ -2,8 +2,13 @@ package com.project.demo.rest.game;
 
 import com.project.demo.logic.entity.game.Game;
 import com.project.demo.logic.entity.game.GameRepository;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.ETags;
 import com.project.demo.logic.entity.user.User;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -16,10 +21,17 @@ public class GameRestController {
     @Autowired
     private GameRepository gameRepository;
 
+    @Autowired
+    private CountCache countCache;
+
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'USER')")
-    public List<Game> getAllGames(){
-        return gameRepository.findAll();
+    public ResponseEntity<List<Game>> getAllGames(HttpServletRequest request){
+        String eTag = ETags.of(countCache, "Game", gameRepository::findListVersion, request);
+        if (ETags.isNotModified(request, eTag)) {
+            return ETags.tagged(HttpStatus.NOT_MODIFIED, eTag).build();
+        }
+        return ETags.tagged(HttpStatus.OK, eTag).body(gameRepository.findAll());
     }
 
 
@@ -4,18 +4,30 @@ import com.project.demo.logic.entity.gift.Gift;
 import com.project.demo.logic.entity.gift.GiftRepository;
 import com.project.demo.logic.entity.giftList.GiftList;
 import com.project.demo.logic.entity.giftList.GiftListRepository;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
+import com.project.demo.logic.entity.http.ETags;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.logic.entity.http.ItemVersion;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.StreamingResponseWriter;
+import com.project.demo.logic.entity.projection.ProjectionService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -25,6 +37,15 @@ public class GiftRestController {
     @Autowired
     private GiftRepository giftRepository;
 
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
+    @Autowired
+    private StreamingResponseWriter streamingResponseWriter;
+
     @Autowired
     private GiftListRepository giftListRepository;
 
@@ -33,19 +54,63 @@ public class GiftRestController {
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean stream,
             HttpServletRequest request) {
 
+        String eTag = ETags.of(countCache, "Gift", giftRepository::findListVersion, request);
+        if (ETags.isNotModified(request, eTag)) {
+            return ETags.notModified(eTag);
+        }
+
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(Gift.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("Gift", giftRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Gifts retrieved successfully",
+                    rows, HttpStatus.OK, meta, eTag);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Gift> window = giftRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Gifts retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta, eTag);
+        }
+
         Pageable pageable = PageRequest.of(page-1, size);
-        Page<Gift> giftsPage = giftRepository.findAll(pageable);
+        if (stream) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageNumber(page);
+            meta.setPageSize(size);
+            if (withTotal) {
+                meta.setTotal(countCache.get("Gift", giftRepository::count));
+            }
+
+            return streamingResponseWriter.stream("Gifts retrieved successfully", meta, HttpStatus.OK, request,
+                    () -> giftRepository.streamAllBy(pageable));
+        }
+
+        Slice<Gift> giftsPage = giftRepository.findAllBy(pageable);
 
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(giftsPage.getTotalPages());
-        meta.setTotalElements(giftsPage.getTotalElements());
-        meta.setPageNumber(giftsPage.getNumber() + 1);
-        meta.setPageSize(giftsPage.getSize());
+        meta.setSlice(giftsPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("Gift", giftRepository::count));
+        }
 
         return new GlobalResponseHandler().handleResponse("Gifts retrieved successfully",
-                giftsPage.getContent(), HttpStatus.OK, meta);
+                giftsPage.getContent(), HttpStatus.OK, meta, eTag);
     }
 
     @GetMapping("/gift-list/{giftListId}")
@@ -54,28 +119,68 @@ public class GiftRestController {
             @PathVariable Long giftListId,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
+        String eTag = ETags.of(countCache, "Gift:giftList=" + giftListId,
+                () -> giftRepository.findListVersionByGiftListId(giftListId), request);
+        if (ETags.isNotModified(request, eTag)) {
+            return ETags.notModified(eTag);
+        }
+
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(Gift.class, fields, Map.of("giftList.id", giftListId),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("Gift:giftList=" + giftListId, () -> giftRepository.countByGiftListId(giftListId)));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Gifts retrieved successfully",
+                    rows, HttpStatus.OK, meta, eTag);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Gift> window = giftRepository.findByGiftListId(giftListId, position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Gifts retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta, eTag);
+        }
+
         Pageable pageable = PageRequest.of(page-1, size);
-        Page<Gift> giftsPage = giftRepository.findByGiftListId(giftListId, pageable);
+        Slice<Gift> giftsPage = giftRepository.findByGiftListId(giftListId, pageable);
 
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(giftsPage.getTotalPages());
-        meta.setTotalElements(giftsPage.getTotalElements());
-        meta.setPageNumber(giftsPage.getNumber() + 1);
-        meta.setPageSize(giftsPage.getSize());
+        meta.setSlice(giftsPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("Gift:giftList=" + giftListId, () -> giftRepository.countByGiftListId(giftListId)));
+        }
 
         return new GlobalResponseHandler().handleResponse("Gifts retrieved successfully",
-                giftsPage.getContent(), HttpStatus.OK, meta);
+                giftsPage.getContent(), HttpStatus.OK, meta, eTag);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getGiftById(@PathVariable Long id, HttpServletRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<ItemVersion> version = giftRepository.findVersionById(id);
+            if (version.isPresent() && ETags.isNotModified(request, ETags.of(id, version.get()))) {
+                return ETags.notModified(ETags.of(id, version.get()));
+            }
+        }
+
         Optional<Gift> foundGift = giftRepository.findById(id);
         if(foundGift.isPresent()) {
             return new GlobalResponseHandler().handleResponse("Gift retrieved successfully",
-                    foundGift.get(), HttpStatus.OK, request);
+                    foundGift.get(), HttpStatus.OK, request, ETags.of(id, new ItemVersion(
+                            foundGift.get().getUpdatedAt(), foundGift.get().getGiftList().getUpdatedAt())));
         } else {
             return new GlobalResponseHandler().handleResponse("Gift " + id + " not found",
                     HttpStatus.NOT_FOUND, request);
@@ -1,21 +1,33 @@
 package com.project.demo.rest.giftList;
 
+import com.project.demo.logic.entity.bulk.BulkDeleteService;
+import com.project.demo.logic.entity.bulk.BulkDeleteTarget;
 import com.project.demo.logic.entity.gift.Gift;
 import com.project.demo.logic.entity.gift.GiftRepository;
 import com.project.demo.logic.entity.giftList.GiftList;
 import com.project.demo.logic.entity.giftList.GiftListRepository;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
+import com.project.demo.logic.entity.http.ETags;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.idempotency.IdempotencyService;
+import com.project.demo.logic.entity.projection.ProjectionService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -24,23 +36,61 @@ public class GiftListRestController {
     @Autowired
     private GiftListRepository giftListRepository;
 
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
     @Autowired
     private GiftRepository giftRepository;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(GiftList.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("GiftList", giftListRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Gift List retrieved successfully",
+                    rows, HttpStatus.OK, meta);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<GiftList> window = giftListRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Gift List retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta);
+        }
+
         Pageable pageable = PageRequest.of(page-1, size);
-        Page<GiftList> ordersPage = giftListRepository.findAll(pageable);
+        Slice<GiftList> ordersPage = giftListRepository.findAllBy(pageable);
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(ordersPage.getTotalPages());
-        meta.setTotalElements(ordersPage.getTotalElements());
-        meta.setPageNumber(ordersPage.getNumber() + 1);
-        meta.setPageSize(ordersPage.getSize());
+        meta.setSlice(ordersPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("GiftList", giftListRepository::count));
+        }
 
         return new GlobalResponseHandler().handleResponse("Gift List retrieved successfully",
                 ordersPage.getContent(), HttpStatus.OK, meta);
@@ -61,10 +111,16 @@ public class GiftListRestController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteOrder(@PathVariable Long id, HttpServletRequest request) {
+    public ResponseEntity<?> deleteOrder(@PathVariable Long id,
+                                         @RequestParam(defaultValue = "false") boolean async,
+                                         HttpServletRequest request) {
         Optional<GiftList> foundItem = giftListRepository.findById(id);
         if(foundItem.isPresent()) {
-            giftListRepository.deleteById(foundItem.get().getId());
+            if (async) {
+                return new GlobalResponseHandler().handleResponse("Gift List deletion started",
+                        bulkDeleteService.submit(BulkDeleteTarget.GIFT_LIST, id), HttpStatus.ACCEPTED, request);
+            }
+            bulkDeleteService.delete(BulkDeleteTarget.GIFT_LIST, id);
             return new GlobalResponseHandler().handleResponse("Gift List deleted successfully",
                     foundItem.get(), HttpStatus.OK, request);
         } else {
@@ -75,7 +131,17 @@ public class GiftListRestController {
 
     @PostMapping("/{giftListId}/gifts")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<?> addGiftToGiftList(@PathVariable Long giftListId, @RequestBody Gift gift, HttpServletRequest request) {
+    public ResponseEntity<?> addGiftToGiftList(@PathVariable Long giftListId, @RequestBody Gift gift,
+                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                               HttpServletRequest request) {
+        if (idempotencyKey != null) {
+            return idempotencyService.execute(idempotencyKey, gift, request,
+                    () -> addGift(giftListId, gift, request));
+        }
+        return addGift(giftListId, gift, request);
+    }
+
+    private ResponseEntity<?> addGift(Long giftListId, Gift gift, HttpServletRequest request) {
         Optional<GiftList> foundGiftList = giftListRepository.findById(giftListId);
         if(foundGiftList.isPresent()) {
             GiftList giftList = foundGiftList.get();
@@ -95,21 +161,53 @@ public class GiftListRestController {
             @PathVariable Long giftListId,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
         Optional<GiftList> foundGiftList = giftListRepository.findById(giftListId);
         if(foundGiftList.isPresent()) {
+            String eTag = ETags.of(countCache, "Gift:giftList=" + giftListId,
+                    () -> giftRepository.findListVersionByGiftListId(giftListId), request);
+            if (ETags.isNotModified(request, eTag)) {
+                return ETags.notModified(eTag);
+            }
+
+            if (fields != null) {
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                List<Map<String, Object>> rows = projectionService.find(Gift.class, fields, Map.of("giftList.id", giftListId),
+                        after, PageRequest.of(page - 1, size), meta);
+                if (after == null && withTotal) {
+                    meta.setTotal(countCache.get("Gift:giftList=" + giftListId, () -> giftRepository.countByGiftListId(giftListId)));
+                }
+
+                return new GlobalResponseHandler().handleResponse("Gifts from Gift List retrieved successfully",
+                        rows, HttpStatus.OK, meta, eTag);
+            }
+
+            if (after != null) {
+                KeysetScrollPosition position = Cursor.decode(after);
+                Window<Gift> window = giftRepository.findByGiftListId(giftListId, position, Cursor.SORT, Limit.of(size));
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                meta.setPageSize(size);
+                Cursor.setCursors(meta, window, position);
+
+                return new GlobalResponseHandler().handleResponse("Gifts from Gift List retrieved successfully",
+                        window.getContent(), HttpStatus.OK, meta, eTag);
+            }
+
             Pageable pageable = PageRequest.of(page-1, size);
-            Page<Gift> giftsPage = giftRepository.findByGiftListId(giftListId, pageable);
+            Slice<Gift> giftsPage = giftRepository.findByGiftListId(giftListId, pageable);
 
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(giftsPage.getTotalPages());
-            meta.setTotalElements(giftsPage.getTotalElements());
-            meta.setPageNumber(giftsPage.getNumber() + 1);
-            meta.setPageSize(giftsPage.getSize());
+            meta.setSlice(giftsPage);
+            if (withTotal) {
+                meta.setTotal(countCache.get("Gift:giftList=" + giftListId, () -> giftRepository.countByGiftListId(giftListId)));
+            }
 
             return new GlobalResponseHandler().handleResponse("Gifts from Gift List retrieved successfully",
-                    giftsPage.getContent(), HttpStatus.OK, meta);
+                    giftsPage.getContent(), HttpStatus.OK, meta, eTag);
         } else {
             return new GlobalResponseHandler().handleResponse("Gift List " + giftListId + " not found",
                     HttpStatus.NOT_FOUND, request);
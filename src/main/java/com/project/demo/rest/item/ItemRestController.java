@@ -1,21 +1,29 @@
 package com.project.demo.rest.item;
 
 
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
+import com.project.demo.logic.entity.http.ETags;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.item.Item;
 import com.project.demo.logic.entity.item.ItemRepository;
+import com.project.demo.logic.entity.projection.ProjectionService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -24,24 +32,61 @@ public class ItemRestController {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
 
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'USER')")
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
+        String eTag = ETags.of(countCache, "Item", itemRepository::findListVersion, request);
+        if (ETags.isNotModified(request, eTag)) {
+            return ETags.notModified(eTag);
+        }
+
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(Item.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("Item", itemRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
+                    rows, HttpStatus.OK, meta, eTag);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Item> window = itemRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta, eTag);
+        }
+
         Pageable pageable = PageRequest.of(page-1, size);
-        Page<Item> ordersPage = itemRepository.findAll(pageable);
+        Slice<Item> ordersPage = itemRepository.findAllBy(pageable);
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(ordersPage.getTotalPages());
-        meta.setTotalElements(ordersPage.getTotalElements());
-        meta.setPageNumber(ordersPage.getNumber() + 1);
-        meta.setPageSize(ordersPage.getSize());
+        meta.setSlice(ordersPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("Item", itemRepository::count));
+        }
 
         return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
-                ordersPage.getContent(), HttpStatus.OK, meta);
+                ordersPage.getContent(), HttpStatus.OK, meta, eTag);
     }
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'SUPER_ADMIN')")
@@ -1,21 +1,43 @@
 package com.project.demo.rest.order;
 
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.idempotency.IdempotencyService;
+import com.project.demo.logic.entity.order.CheckoutRequest;
+import com.project.demo.logic.entity.order.CheckoutService;
+import com.project.demo.logic.entity.order.DailyRevenueRepository;
 import com.project.demo.logic.entity.order.Order;
+import com.project.demo.logic.entity.order.OrderHistoryService;
+import com.project.demo.logic.entity.order.OrderIntake;
+import com.project.demo.logic.entity.order.OrderIntakeService;
 import com.project.demo.logic.entity.order.OrderRepository;
+import com.project.demo.logic.entity.order.OrderRollupService;
+import com.project.demo.logic.entity.order.UserOrderTotals;
+import com.project.demo.logic.entity.order.UserOrderTotalsRepository;
+import com.project.demo.logic.entity.projection.ProjectionService;
 import com.project.demo.logic.entity.user.User;
 import com.project.demo.logic.entity.user.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -24,23 +46,76 @@ public class OrderRestController {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private OrderRollupService orderRollupService;
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
+    @Autowired
+    private UserOrderTotalsRepository userOrderTotalsRepository;
+
+    @Autowired
+    private DailyRevenueRepository dailyRevenueRepository;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
+            if (fields != null) {
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                List<Map<String, Object>> rows = projectionService.find(Order.class, fields, Map.of(),
+                        after, PageRequest.of(page - 1, size), meta);
+                if (after == null && withTotal) {
+                    meta.setTotal(countCache.get("Order", orderRepository::count));
+                }
+
+                return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
+                        rows, HttpStatus.OK, meta);
+            }
+
+            if (after != null) {
+                KeysetScrollPosition position = Cursor.decode(after);
+                Window<Order> window = orderRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+                Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+                meta.setPageSize(size);
+                Cursor.setCursors(meta, window, position);
+
+                return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
+                        window.getContent(), HttpStatus.OK, meta);
+            }
+
             Pageable pageable = PageRequest.of(page-1, size);
-            Page<Order> ordersPage = orderRepository.findAll(pageable);
+            Slice<Order> ordersPage = orderRepository.findAllBy(pageable);
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(ordersPage.getTotalPages());
-            meta.setTotalElements(ordersPage.getTotalElements());
-            meta.setPageNumber(ordersPage.getNumber() + 1);
-            meta.setPageSize(ordersPage.getSize());
+            meta.setSlice(ordersPage);
+            if (withTotal) {
+                meta.setTotal(countCache.get("Order", orderRepository::count));
+            }
 
             return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
                     ordersPage.getContent(), HttpStatus.OK, meta);
@@ -51,30 +126,105 @@ public class OrderRestController {
     public ResponseEntity<?> getAllByUser (@PathVariable Long userId,
                                            @RequestParam(defaultValue = "1") int page,
                                            @RequestParam(defaultValue = "10") int size,
+                                           @RequestParam(required = false) String after,
+                                           @RequestParam(required = false) String fields,
+                                           @RequestParam(defaultValue = "true") boolean withTotal,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
                                            HttpServletRequest request) {
         Optional<User> foundUser = userRepository.findById(userId);
         if(foundUser.isPresent()) {
 
 
-            Pageable pageable = PageRequest.of(page-1, size);
-            Page<Order> ordersPage = orderRepository.getOrderByUserId(userId, pageable);
+            // Every mode includes archived orders and honours from (inclusive) and to (exclusive)
+            List<String> selected = fields == null ? null : projectionService.parseFields(Order.class, fields);
+            Date fromDate = from == null ? null : Date.from(from);
+            Date toDate = to == null ? null : Date.from(to);
             Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-            meta.setTotalPages(ordersPage.getTotalPages());
-            meta.setTotalElements(ordersPage.getTotalElements());
-            meta.setPageNumber(ordersPage.getNumber() + 1);
-            meta.setPageSize(ordersPage.getSize());
+            List<Order> orders;
 
+            if (after != null) {
+                KeysetScrollPosition position = Cursor.decode(after);
+                Window<Order> window = orderHistoryService.scrollByUser(userId, fromDate, toDate, position, size);
+                meta.setPageSize(size);
+                Cursor.setCursors(meta, window, position);
+                orders = window.getContent();
+            } else {
+                // Pages are newest first
+                Slice<Order> ordersPage = orderHistoryService.findByUser(userId, fromDate, toDate, PageRequest.of(page-1, size));
+                meta.setSlice(ordersPage);
+                if (withTotal && from == null && to == null) {
+                    meta.setTotal(countCache.get("Order:history:user=" + userId,
+                            () -> orderHistoryService.countByUser(userId, null, null)));
+                } else if (withTotal) {
+                    // Ranges are open-ended client input; counting them each time keeps the cache bounded
+                    meta.setTotal(CountCache.Total.exact(orderHistoryService.countByUser(userId, fromDate, toDate)));
+                }
+                orders = ordersPage.getContent();
+            }
 
             return new GlobalResponseHandler().handleResponse("Order retrieved successfully",
-                    ordersPage.getContent(), HttpStatus.OK, meta);
+                    selected == null ? orders : projectionService.project(orders, selected), HttpStatus.OK, meta);
         } else {
             return new GlobalResponseHandler().handleResponse("User id " + userId + " not found"  ,
                     HttpStatus.NOT_FOUND, request);
         }
     }
 
+    @GetMapping("/user/{userId}/totals")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getUserTotals(@PathVariable Long userId, HttpServletRequest request) {
+        if (userRepository.existsById(userId)) {
+            UserOrderTotals totals = userOrderTotalsRepository.findById(userId).orElseGet(() -> new UserOrderTotals(userId));
+            return new GlobalResponseHandler().handleResponse("Order totals retrieved successfully",
+                    totals, HttpStatus.OK, request);
+        } else {
+            return new GlobalResponseHandler().handleResponse("User id " + userId + " not found"  ,
+                    HttpStatus.NOT_FOUND, request);
+        }
+    }
+
+    @GetMapping("/top-customers")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getTopCustomers(@RequestParam(defaultValue = "10") int limit, HttpServletRequest request) {
+        return new GlobalResponseHandler().handleResponse("Top customers retrieved successfully",
+                userOrderTotalsRepository.findAllByOrderByTotalAmountDesc(Limit.of(Math.min(limit, 100))),
+                HttpStatus.OK, request);
+    }
+
+    /**
+     * Days without orders are left out; {@code from} defaults to 30 days before {@code to},
+     * which defaults to today.
+     */
+    @GetMapping("/revenue/daily")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+    public ResponseEntity<?> getDailyRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest request) {
+        LocalDate end = to != null ? to : orderRollupService.today();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return new GlobalResponseHandler().handleResponse("Daily revenue retrieved successfully",
+                dailyRevenueRepository.findByDateBetweenOrderByDate(start, end), HttpStatus.OK, request);
+    }
+
     @PostMapping("/user/{userId}")
-    public ResponseEntity<?> addOrderToUser(@PathVariable Long userId, @RequestBody Order order, HttpServletRequest request) {
+    public ResponseEntity<?> addOrderToUser(@PathVariable Long userId, @RequestBody Order order,
+                                            @RequestParam(defaultValue = "false") boolean async,
+                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                            HttpServletRequest request) {
+        if (idempotencyKey != null) {
+            return idempotencyService.execute(idempotencyKey, order, request,
+                    () -> addOrder(userId, order, async, request));
+        }
+        return addOrder(userId, order, async, request);
+    }
+
+    private ResponseEntity<?> addOrder(Long userId, Order order, boolean async, HttpServletRequest request) {
+        if (async) {
+            return new GlobalResponseHandler().handleResponse("Order accepted",
+                    orderIntakeService.accept(userId, order), HttpStatus.ACCEPTED, request);
+        }
         Optional<User> foundUser = userRepository.findById(userId);
         if(foundUser.isPresent()) {
             order.setUser(foundUser.get());
@@ -87,12 +237,42 @@ public class OrderRestController {
         }
     }
 
+    @GetMapping("/intake/{trackingId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getIntake(@PathVariable String trackingId, HttpServletRequest request) {
+        Optional<OrderIntake> foundIntake = orderIntakeService.getIntake(trackingId);
+        if (foundIntake.isPresent()) {
+            return new GlobalResponseHandler().handleResponse("Order intake retrieved successfully",
+                    foundIntake.get(), HttpStatus.OK, request);
+        } else {
+            return new GlobalResponseHandler().handleResponse("Order intake " + trackingId + " not found",
+                    HttpStatus.NOT_FOUND, request);
+        }
+    }
+
+    @PostMapping("/user/{userId}/checkout")
+    @PreAuthorize("hasAnyRole('USER', 'SUPER_ADMIN')")
+    public ResponseEntity<?> checkout(@PathVariable Long userId, @RequestBody CheckoutRequest checkoutRequest, HttpServletRequest request) {
+        Optional<User> foundUser = userRepository.findById(userId);
+        if(foundUser.isPresent()) {
+            Order savedOrder = checkoutService.checkout(foundUser.get(), checkoutRequest);
+            return new GlobalResponseHandler().handleResponse("Order created successfully",
+                    savedOrder, HttpStatus.CREATED, request);
+        } else {
+            return new GlobalResponseHandler().handleResponse("User id " + userId + " not found"  ,
+                    HttpStatus.NOT_FOUND, request);
+        }
+    }
+
     @PutMapping("/{orderId}")
     public ResponseEntity<?> updateOrder(@PathVariable Long orderId, @RequestBody Order order, HttpServletRequest request) {
         Optional<Order> foundOrder = orderRepository.findById(orderId);
         if(foundOrder.isPresent()) {
             order.setId(foundOrder.get().getId());
             order.setUser(foundOrder.get().getUser());
+            order.setItems(foundOrder.get().getItems());
+            order.setCreatedAt(foundOrder.get().getCreatedAt());
+            order.setTrackingId(foundOrder.get().getTrackingId());
             orderRepository.save(order);
             return new GlobalResponseHandler().handleResponse("Order updated successfully",
                     order, HttpStatus.OK, request);
@@ -122,8 +302,6 @@ public class OrderRestController {
     public ResponseEntity<?> deleteOrder(@PathVariable Long orderId, HttpServletRequest request) {
         Optional<Order> foundOrder = orderRepository.findById(orderId);
         if(foundOrder.isPresent()) {
-            Optional<User> user = userRepository.findById(foundOrder.get().getUser().getId());
-            user.get().getOrders().remove(foundOrder.get());
             orderRepository.deleteById(foundOrder.get().getId());
             return new GlobalResponseHandler().handleResponse("Order deleted successfully",
                     foundOrder.get(), HttpStatus.OK, request);
@@ -1,22 +1,29 @@
 package com.project.demo.rest.prefenceList;
 
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import com.project.demo.logic.entity.movie.Movie;
 import com.project.demo.logic.entity.movie.MovieRepository;
 import com.project.demo.logic.entity.preferenceList.PreferenceList;
 import com.project.demo.logic.entity.preferenceList.PreferenceListRepository;
+import com.project.demo.logic.entity.projection.ProjectionService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -26,6 +33,12 @@ public class PreferenceListRestController {
     @Autowired
     private PreferenceListRepository preferenceListRepository;
 
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
     @Autowired
     private MovieRepository movieRepository;
 
@@ -36,15 +49,41 @@ public class PreferenceListRestController {
     public ResponseEntity<?> getPreferenceLists(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request
     ) {
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(PreferenceList.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("PreferenceList", preferenceListRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Preference Lists retrieved successfully",
+                    rows, HttpStatus.OK, meta);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<PreferenceList> window = preferenceListRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Preference Lists retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta);
+        }
+
         Pageable pageable = PageRequest.of(page-1, size);
-        Page<PreferenceList> preferenceListsPage = preferenceListRepository.findAll(pageable);
+        Slice<PreferenceList> preferenceListsPage = preferenceListRepository.findAllBy(pageable);
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(preferenceListsPage.getTotalPages());
-        meta.setTotalElements(preferenceListsPage.getTotalElements());
-        meta.setPageNumber(preferenceListsPage.getNumber() + 1);
-        meta.setPageSize(preferenceListsPage.getSize());
+        meta.setSlice(preferenceListsPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("PreferenceList", preferenceListRepository::count));
+        }
 
         return new GlobalResponseHandler().handleResponse("Preference Lists retrieved successfully",
                 preferenceListsPage.getContent(), HttpStatus.OK, meta);
@@ -1,22 +1,45 @@
 package com.project.demo.rest.producto;
 
+import com.project.demo.logic.entity.bulk.BulkImportSummary;
+import com.project.demo.logic.entity.bulk.BulkRowReader;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
+import com.project.demo.logic.entity.http.ETags;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
+import com.project.demo.logic.entity.http.ItemVersion;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.StreamingResponseWriter;
 import com.project.demo.logic.entity.producto.Producto;
+import com.project.demo.logic.entity.producto.ProductoImportService;
 import com.project.demo.logic.entity.producto.ProductoRepository;
+import com.project.demo.logic.entity.producto.ProductoSearchIndex;
+import com.project.demo.logic.entity.producto.ProductoStockService;
+import com.project.demo.logic.entity.producto.StockAdjustment;
 import com.project.demo.logic.entity.category.Category;
 import com.project.demo.logic.entity.category.CategoryRepository;
+import com.project.demo.logic.entity.projection.ProjectionService;
+import com.project.demo.logic.entity.responseCache.ResponseCache;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/productos")
@@ -25,27 +48,92 @@ public class ProductoRestController {
     @Autowired
     private ProductoRepository productoRepository;
 
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
+    @Autowired
+    private StreamingResponseWriter streamingResponseWriter;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ProductoSearchIndex productoSearchIndex;
+
+    @Autowired
+    private ProductoImportService productoImportService;
+
+    @Autowired
+    private ProductoStockService productoStockService;
+
     @GetMapping
     @PreAuthorize("hasAnyRole('USER','SUPER_ADMIN')")
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean stream,
             HttpServletRequest request) {
 
+        String eTag = ETags.of(countCache, "Producto", productoRepository::findListVersion, request);
+        if (ETags.isNotModified(request, eTag)) {
+            return ETags.notModified(eTag);
+        }
+
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(Producto.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("Producto", productoRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Productos recuperados correctamente",
+                    rows, HttpStatus.OK, meta, eTag);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Producto> window = productoRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Productos recuperados correctamente",
+                    window.getContent(), HttpStatus.OK, meta, eTag);
+        }
+
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Producto> productosPage = productoRepository.findAll(pageable);
+        if (stream) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageNumber(page);
+            meta.setPageSize(size);
+            if (withTotal) {
+                meta.setTotal(countCache.get("Producto", productoRepository::count));
+            }
+
+            return streamingResponseWriter.stream("Productos recuperados correctamente", meta, HttpStatus.OK, request,
+                    () -> productoRepository.streamAllBy(pageable));
+        }
+
+        Slice<Producto> productosPage = productoRepository.findAllBy(pageable);
 
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(productosPage.getTotalPages());
-        meta.setTotalElements(productosPage.getTotalElements());
-        meta.setPageNumber(productosPage.getNumber() + 1);
-        meta.setPageSize(productosPage.getSize());
+        meta.setSlice(productosPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("Producto", productoRepository::count));
+        }
 
         return new GlobalResponseHandler().handleResponse("Productos recuperados correctamente",
-                productosPage.getContent(), HttpStatus.OK, meta);
+                productosPage.getContent(), HttpStatus.OK, meta, eTag);
     }
 
     @GetMapping("/category/{categoryId}")
@@ -54,28 +142,95 @@ public class ProductoRestController {
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
+        String eTag = ETags.of(countCache, "Producto:category=" + categoryId,
+                () -> productoRepository.findListVersionByCategoryId(categoryId), request);
+        if (ETags.isNotModified(request, eTag)) {
+            return ETags.notModified(eTag);
+        }
+
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(Producto.class, fields, Map.of("category.id", categoryId),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("Producto:category=" + categoryId, () -> productoRepository.countByCategoryId(categoryId)));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Productos retrieved successfully",
+                    rows, HttpStatus.OK, meta, eTag);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Producto> window = productoRepository.findByCategoryId(categoryId, position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Productos retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta, eTag);
+        }
+
         Pageable pageable = PageRequest.of(page-1, size);
-        Page<Producto> productosPage = productoRepository.findByCategoryId(categoryId, pageable);
+        Slice<Producto> productosPage = productoRepository.findByCategoryId(categoryId, pageable);
+
+        Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+        meta.setSlice(productosPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("Producto:category=" + categoryId, () -> productoRepository.countByCategoryId(categoryId)));
+        }
+
+        return new GlobalResponseHandler().handleResponse("Productos retrieved successfully",
+                productosPage.getContent(), HttpStatus.OK, meta, eTag);
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('USER','SUPER_ADMIN')")
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size,
+            HttpServletRequest request) {
+
+        Pageable pageable = PageRequest.of(page - 1, size);
+        ProductoSearchIndex.Hits hits = productoSearchIndex.search(q, (int) pageable.getOffset() + size);
+        List<Long> ids = hits.getProductIds();
+        ids = ids.subList(Math.min((int) pageable.getOffset(), ids.size()), ids.size());
+
+        Map<Long, Producto> found = productoRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Producto::getId, Function.identity()));
+        List<Producto> productos = ids.stream().map(found::get).filter(Objects::nonNull).toList();
 
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(productosPage.getTotalPages());
-        meta.setTotalElements(productosPage.getTotalElements());
-        meta.setPageNumber(productosPage.getNumber() + 1);
-        meta.setPageSize(productosPage.getSize());
+        meta.setTotalPages((hits.getTotal() + size - 1) / size);
+        meta.setTotalElements(hits.getTotal());
+        meta.setPageNumber(page);
+        meta.setPageSize(size);
 
         return new GlobalResponseHandler().handleResponse("Productos retrieved successfully",
-                productosPage.getContent(), HttpStatus.OK, meta);
+                productos, HttpStatus.OK, meta);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getProductoById(@PathVariable Long id, HttpServletRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<ItemVersion> version = productoRepository.findVersionById(id);
+            if (version.isPresent() && ETags.isNotModified(request, ETags.of(id, version.get()))) {
+                return ETags.notModified(ETags.of(id, version.get()));
+            }
+        }
+
         Optional<Producto> foundProducto = productoRepository.findById(id);
         if(foundProducto.isPresent()) {
             return new GlobalResponseHandler().handleResponse("Producto retrieved successfully",
-                    foundProducto.get(), HttpStatus.OK, request);
+                    foundProducto.get(), HttpStatus.OK, request, ETags.of(id, new ItemVersion(
+                            foundProducto.get().getUpdatedAt(), foundProducto.get().getCategory().getUpdatedAt())));
         } else {
             return new GlobalResponseHandler().handleResponse("Producto " + id + " not found",
                     HttpStatus.NOT_FOUND, request);
@@ -92,6 +247,7 @@ public class ProductoRestController {
             if (category.isPresent()) {
                 producto.setCategory(category.get());
                 Producto savedProducto = productoRepository.save(producto);
+                responseCache.evictProducto(savedProducto.getId(), category.get().getId());
                 return new GlobalResponseHandler().handleResponse("Producto created successfully",
                         savedProducto, HttpStatus.CREATED, request);
             } else {
@@ -105,6 +261,15 @@ public class ProductoRestController {
     }
 
 
+    @PostMapping(value = "/import", consumes = {BulkRowReader.NDJSON, BulkRowReader.CSV})
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> importProductos(HttpServletRequest request) throws IOException {
+        BulkImportSummary summary = productoImportService.importCatalog(request.getInputStream(), request.getContentType());
+        return new GlobalResponseHandler().handleResponse(summary.getImported() + " productos imported, "
+                + summary.getFailed() + " failed", summary, HttpStatus.OK, request);
+    }
+
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
    // @PreAuthorize("isAuthenticated()")
@@ -112,10 +277,14 @@ public class ProductoRestController {
         Optional<Producto> existingProducto = productoRepository.findById(id);
         if (existingProducto.isPresent()) {
             Producto productoToUpdate = existingProducto.get();
+            Long previousCategoryId = productoToUpdate.getCategory().getId();
             productoToUpdate.setName(producto.getName());
             productoToUpdate.setDescription(producto.getDescription());
             productoToUpdate.setPrice(producto.getPrice());
-            productoToUpdate.setStock(producto.getStock());
+            // Stock only moves through POST /{id}/stock, so a PUT from a stale read can't undo reservations
+            if (producto.getSku() != null) {
+                productoToUpdate.setSku(producto.getSku());
+            }
 
             if (producto.getCategory() != null && producto.getCategory().getId() != null) {
                 Optional<Category> category = categoryRepository.findById(producto.getCategory().getId());
@@ -128,6 +297,7 @@ public class ProductoRestController {
             }
 
             Producto savedProducto = productoRepository.save(productoToUpdate);
+            responseCache.evictProducto(id, previousCategoryId, savedProducto.getCategory().getId());
             return new GlobalResponseHandler().handleResponse("Producto updated successfully",
                     savedProducto, HttpStatus.OK, request);
         } else {
@@ -137,6 +307,20 @@ public class ProductoRestController {
     }
 
 
+    @PostMapping("/{id}/stock")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> adjustStock(@PathVariable Long id, @RequestBody StockAdjustment adjustment, HttpServletRequest request) {
+        Optional<Producto> adjustedProducto = productoStockService.adjust(id, adjustment.getDelta());
+        if (adjustedProducto.isPresent()) {
+            return new GlobalResponseHandler().handleResponse("Stock adjusted successfully",
+                    adjustedProducto.get(), HttpStatus.OK, request);
+        } else {
+            return new GlobalResponseHandler().handleResponse("Producto " + id + " not found",
+                    HttpStatus.NOT_FOUND, request);
+        }
+    }
+
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
  //   @PreAuthorize("isAuthenticated()")
@@ -144,6 +328,7 @@ public class ProductoRestController {
         Optional<Producto> foundProducto = productoRepository.findById(id);
         if(foundProducto.isPresent()) {
             productoRepository.deleteById(foundProducto.get().getId());
+            responseCache.evictProducto(id, foundProducto.get().getCategory().getId());
             return new GlobalResponseHandler().handleResponse("Producto deleted successfully",
                     foundProducto.get(), HttpStatus.OK, request);
         } else {
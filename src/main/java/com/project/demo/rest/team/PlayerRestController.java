@@ -1,19 +1,27 @@
 package com.project.demo.rest.team;
 
+import com.project.demo.logic.entity.projection.ProjectionService;
 import com.project.demo.logic.entity.team.Player;
 import com.project.demo.logic.entity.team.PlayerRepository;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -23,20 +31,52 @@ public class PlayerRestController {
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getAllPlayers(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(Player.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("Player", playerRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Players retrieved successfully",
+                    rows, HttpStatus.OK, meta);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Player> window = playerRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Players retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta);
+        }
+
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Player> playersPage = playerRepository.findAll(pageable);
+        Slice<Player> playersPage = playerRepository.findAllBy(pageable);
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(playersPage.getTotalPages());
-        meta.setTotalElements(playersPage.getTotalElements());
-        meta.setPageNumber(playersPage.getNumber() + 1);
-        meta.setPageSize(playersPage.getSize());
+        meta.setSlice(playersPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("Player", playerRepository::count));
+        }
 
         return new GlobalResponseHandler().handleResponse("Players retrieved successfully",
                 playersPage.getContent(), HttpStatus.OK, meta);
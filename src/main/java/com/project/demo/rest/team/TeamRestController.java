@@ -1,19 +1,29 @@
 package com.project.demo.rest.team;
 
+import com.project.demo.logic.entity.bulk.BulkDeleteService;
+import com.project.demo.logic.entity.bulk.BulkDeleteTarget;
+import com.project.demo.logic.entity.projection.ProjectionService;
 import com.project.demo.logic.entity.team.Team;
 import com.project.demo.logic.entity.team.TeamRepository;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -23,20 +33,55 @@ public class TeamRestController {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getAllTeams(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             HttpServletRequest request) {
 
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(Team.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("Team", teamRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Teams retrieved successfully",
+                    rows, HttpStatus.OK, meta);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<Team> window = teamRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Teams retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta);
+        }
+
         Pageable pageable = PageRequest.of(page - 1, size);
-        Page<Team> teamsPage = teamRepository.findAll(pageable);
+        Slice<Team> teamsPage = teamRepository.findAllBy(pageable);
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(teamsPage.getTotalPages());
-        meta.setTotalElements(teamsPage.getTotalElements());
-        meta.setPageNumber(teamsPage.getNumber() + 1);
-        meta.setPageSize(teamsPage.getSize());
+        meta.setSlice(teamsPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("Team", teamRepository::count));
+        }
 
         return new GlobalResponseHandler().handleResponse("Teams retrieved successfully",
                 teamsPage.getContent(), HttpStatus.OK, meta);
@@ -78,10 +123,16 @@ public class TeamRestController {
 
     @DeleteMapping("/{teamId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<?> deleteTeam(@PathVariable Long teamId, HttpServletRequest request) {
+    public ResponseEntity<?> deleteTeam(@PathVariable Long teamId,
+                                        @RequestParam(defaultValue = "false") boolean async,
+                                        HttpServletRequest request) {
         Optional<Team> foundTeam = teamRepository.findById(teamId);
         if (foundTeam.isPresent()) {
-            teamRepository.deleteById(teamId);
+            if (async) {
+                return new GlobalResponseHandler().handleResponse("Team deletion started",
+                        bulkDeleteService.submit(BulkDeleteTarget.TEAM, teamId), HttpStatus.ACCEPTED, request);
+            }
+            bulkDeleteService.delete(BulkDeleteTarget.TEAM, teamId);
             return new GlobalResponseHandler().handleResponse("Team deleted successfully",
                     foundTeam.get(), HttpStatus.OK, request);
         } else {
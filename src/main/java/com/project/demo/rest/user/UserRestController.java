@@ -1,22 +1,39 @@
 package com.project.demo.rest.user;
 
+import com.project.demo.logic.entity.bulk.BulkDeleteService;
+import com.project.demo.logic.entity.bulk.BulkDeleteTarget;
+import com.project.demo.logic.entity.auth.JwtUserPrincipal;
+import com.project.demo.logic.entity.bulk.BulkRowReader;
+import com.project.demo.logic.entity.bulk.BulkRowResult;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.Cursor;
 import com.project.demo.logic.entity.http.GlobalResponseHandler;
 import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.http.StreamingResponseWriter;
+import com.project.demo.logic.entity.projection.ProjectionService;
 import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserProvisioningService;
 import com.project.demo.logic.entity.user.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -25,23 +42,77 @@ public class UserRestController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ProjectionService projectionService;
+
+    @Autowired
+    private StreamingResponseWriter streamingResponseWriter;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN')")
     public ResponseEntity<?> getAll(
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean stream,
             HttpServletRequest request) {
 
+        if (fields != null) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            List<Map<String, Object>> rows = projectionService.find(User.class, fields, Map.of(),
+                    after, PageRequest.of(page - 1, size), meta);
+            if (after == null && withTotal) {
+                meta.setTotal(countCache.get("User", userRepository::count));
+            }
+
+            return new GlobalResponseHandler().handleResponse("Users retrieved successfully",
+                    rows, HttpStatus.OK, meta);
+        }
+
+        if (after != null) {
+            KeysetScrollPosition position = Cursor.decode(after);
+            Window<User> window = userRepository.findAllBy(position, Cursor.SORT, Limit.of(size));
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageSize(size);
+            Cursor.setCursors(meta, window, position);
+
+            return new GlobalResponseHandler().handleResponse("Users retrieved successfully",
+                    window.getContent(), HttpStatus.OK, meta);
+        }
+
         Pageable pageable = PageRequest.of(page-1, size);
-        Page<User> usersPage = userRepository.findAll(pageable);
+        if (stream) {
+            Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
+            meta.setPageNumber(page);
+            meta.setPageSize(size);
+            if (withTotal) {
+                meta.setTotal(countCache.get("User", userRepository::count));
+            }
+
+            return streamingResponseWriter.stream("Users retrieved successfully", meta, HttpStatus.OK, request,
+                    () -> userRepository.streamAllBy(pageable));
+        }
+
+        Slice<User> usersPage = userRepository.findAllBy(pageable);
         Meta meta = new Meta(request.getMethod(), request.getRequestURL().toString());
-        meta.setTotalPages(usersPage.getTotalPages());
-        meta.setTotalElements(usersPage.getTotalElements());
-        meta.setPageNumber(usersPage.getNumber() + 1);
-        meta.setPageSize(usersPage.getSize());
+        meta.setSlice(usersPage);
+        if (withTotal) {
+            meta.setTotal(countCache.get("User", userRepository::count));
+        }
 
         return new GlobalResponseHandler().handleResponse("Users retrieved successfully",
                 usersPage.getContent(), HttpStatus.OK, meta);
@@ -56,6 +127,15 @@ public class UserRestController {
                 user, HttpStatus.OK, request);
     }
 
+    @PostMapping(value = "/bulk", consumes = {BulkRowReader.NDJSON, BulkRowReader.CSV})
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN')")
+    public ResponseEntity<?> addUsers(HttpServletRequest request) throws IOException {
+        List<BulkRowResult> results = userProvisioningService.provision(request.getInputStream(), request.getContentType());
+        long created = results.stream().filter(result -> BulkRowResult.CREATED.equals(result.getStatus())).count();
+        return new GlobalResponseHandler().handleResponse(created + " of " + results.size() + " users created",
+                results, HttpStatus.OK, request);
+    }
+
     @PutMapping("/{userId}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN')")
     public ResponseEntity<?> updateUser(@PathVariable Long userId, @RequestBody User user, HttpServletRequest request) {
@@ -74,10 +154,16 @@ public class UserRestController {
 
     @DeleteMapping("/{userId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
-    public ResponseEntity<?> deleteUser(@PathVariable Long userId, HttpServletRequest request) {
+    public ResponseEntity<?> deleteUser(@PathVariable Long userId,
+                                        @RequestParam(defaultValue = "false") boolean async,
+                                        HttpServletRequest request) {
         Optional<User> foundOrder = userRepository.findById(userId);
         if(foundOrder.isPresent()) {
-            userRepository.deleteById(userId);
+            if (async) {
+                return new GlobalResponseHandler().handleResponse("User deletion started",
+                        bulkDeleteService.submit(BulkDeleteTarget.USER, userId), HttpStatus.ACCEPTED, request);
+            }
+            bulkDeleteService.delete(BulkDeleteTarget.USER, userId);
             return new GlobalResponseHandler().handleResponse("User deleted successfully",
                     foundOrder.get(), HttpStatus.OK, request);
         } else {
@@ -90,6 +176,11 @@ public class UserRestController {
     @PreAuthorize("isAuthenticated()")
     public User authenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            // The token can outlive the account it was issued for
+            return userRepository.findById(principal.getId()).orElseThrow(() ->
+                    new UsernameNotFoundException("User id " + principal.getId() + " not found"));
+        }
         return (User) authentication.getPrincipal();
     }
 
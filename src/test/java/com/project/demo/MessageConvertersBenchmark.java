@@ -0,0 +1,55 @@
+package com.project.demo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.http.HttpResponse;
+import com.project.demo.logic.entity.producto.Producto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size and encode / decode time of a 500-producto page in each format. Timings are
+ * printed, not asserted, so this is tagged out of {@code test}; run it with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class MessageConvertersBenchmark {
+    private static final int ROWS = 500;
+    private static final int WARMUP_ROUNDS = 500;
+    private static final int ROUNDS = 2000;
+
+    @Test
+    void encodeAndDecodeEachFormat() throws Exception {
+        MessageConvertersConfig config = new MessageConvertersConfig();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", Jackson2ObjectMapperBuilder.json().build());
+        mappers.put("cbor", config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper());
+        mappers.put("smile", config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper());
+        HttpResponse<List<Producto>> response = MessageConvertersConfigTest.response(ROWS);
+
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] encoded = mapper.writeValueAsBytes(response);
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                mapper.readTree(mapper.writeValueAsBytes(response));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                mapper.writeValueAsBytes(response);
+            }
+            long encodeMicros = (System.nanoTime() - start) / 1000 / ROUNDS;
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                mapper.readTree(encoded);
+            }
+            long decodeMicros = (System.nanoTime() - start) / 1000 / ROUNDS;
+            System.out.printf("%-5s %8d bytes %6d us encode %6d us decode%n",
+                    entry.getKey(), encoded.length, encodeMicros, decodeMicros);
+        }
+    }
+}
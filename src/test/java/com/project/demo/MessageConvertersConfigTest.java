@@ -0,0 +1,151 @@
+package com.project.demo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.logic.entity.category.Category;
+import com.project.demo.logic.entity.http.HttpResponse;
+import com.project.demo.logic.entity.http.Meta;
+import com.project.demo.logic.entity.producto.Producto;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The CBOR and Smile mappers must encode the response envelope exactly like the JSON one,
+ * so a client can switch formats without seeing different fields or values, and MVC must
+ * pick them from {@code Accept} and {@code Content-Type}.
+ */
+@WebMvcTest(controllers = MessageConvertersConfigTest.EchoController.class,
+        excludeAutoConfiguration = {SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class},
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = Filter.class))
+@Import({MessageConvertersConfig.class, MessageConvertersConfigTest.EchoController.class})
+class MessageConvertersConfigTest {
+    // Binary formats keep BigDecimal as a decimal while JSON text reads back as a double
+    private static final Comparator<JsonNode> SAME_VALUE = (a, b) -> {
+        if (a.isNumber() && b.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+
+    private final MessageConvertersConfig config = new MessageConvertersConfig();
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+    private final ObjectMapper smile = config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void binaryFormatsRoundTripTheEnvelopeLikeJson() throws Exception {
+        HttpResponse<List<Producto>> response = response(3);
+        JsonNode expected = json.readTree(json.writeValueAsBytes(response));
+
+        for (ObjectMapper mapper : List.of(cbor, smile)) {
+            JsonNode decoded = mapper.readTree(mapper.writeValueAsBytes(response));
+            assertTrue(expected.equals(SAME_VALUE, decoded), mapper.getFactory().getFormatName() + ": " + decoded);
+
+            Producto first = mapper.treeToValue(decoded.get("data").get(0), Producto.class);
+            assertEquals(0, new BigDecimal("10.50").compareTo(first.getPrice()));
+            assertEquals("Category", first.getCategory().getName());
+        }
+        assertEquals(MediaType.valueOf("application/cbor"),
+                config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getSupportedMediaTypes().get(0));
+        assertEquals(MediaType.valueOf("application/x-jackson-smile"),
+                config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()).getSupportedMediaTypes().get(0));
+    }
+
+    @Test
+    void binaryFormatsAreSmallerThanJson() throws Exception {
+        HttpResponse<List<Producto>> response = response(500);
+        int jsonSize = json.writeValueAsBytes(response).length;
+
+        assertTrue(cbor.writeValueAsBytes(response).length < jsonSize);
+        assertTrue(smile.writeValueAsBytes(response).length < jsonSize);
+    }
+
+    @Test
+    void negotiatesBinaryFormatsThroughTheRegisteredConverters() throws Exception {
+        for (Map.Entry<String, ObjectMapper> format : Map.of("application/cbor", cbor,
+                "application/x-jackson-smile", smile).entrySet()) {
+            Producto producto = response(1).getData().get(0);
+            MvcResult result = mockMvc.perform(post("/echo")
+                            .contentType(format.getKey())
+                            .accept(format.getKey())
+                            .content(format.getValue().writeValueAsBytes(producto)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(format.getKey()))
+                    .andReturn();
+
+            Producto echoed = format.getValue().readValue(result.getResponse().getContentAsByteArray(), Producto.class);
+            assertEquals(producto.getSku(), echoed.getSku());
+            assertEquals(0, producto.getPrice().compareTo(echoed.getPrice()));
+            assertEquals("Category", echoed.getCategory().getName());
+        }
+
+        mockMvc.perform(post("/echo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsBytes(response(1).getData().get(0))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    static HttpResponse<List<Producto>> response(int rows) {
+        Category category = new Category();
+        category.setId(7L);
+        category.setName("Category");
+        List<Producto> productos = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Producto producto = new Producto();
+            producto.setId((long) i + 1);
+            producto.setSku("SKU-" + i);
+            producto.setName("Producto " + i);
+            producto.setDescription("Description of producto " + i);
+            producto.setPrice(new BigDecimal("10.50").add(BigDecimal.valueOf(i)));
+            producto.setStock(i);
+            producto.setCreatedAt(new Date(1_700_000_000_000L + i));
+            producto.setCategory(category);
+            productos.add(producto);
+        }
+
+        Meta meta = new Meta("GET", "http://localhost/products");
+        meta.setPageSize(rows);
+        meta.setHasNext(true);
+        meta.setNextCursor("Zjo0Mg");
+        return new HttpResponse<>("Productos retrieved successfully", productos, meta);
+    }
+
+    @RestController
+    static class EchoController {
+        @PostMapping("/echo")
+        Producto echo(@RequestBody Producto producto) {
+            return producto;
+        }
+    }
+}
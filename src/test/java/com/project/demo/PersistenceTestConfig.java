@@ -0,0 +1,39 @@
+package com.project.demo;
+
+import com.project.demo.logic.entity.category.CategoryStatsListener;
+import com.project.demo.logic.entity.category.CategoryStatsRollup;
+import com.project.demo.logic.entity.http.CountCache;
+import com.project.demo.logic.entity.http.CountCacheInvalidator;
+import com.project.demo.logic.entity.http.StreamingQueries;
+import com.project.demo.logic.entity.idGenerator.IdAllocator;
+import com.project.demo.logic.entity.idGenerator.IdGeneratorSeeder;
+import com.project.demo.logic.entity.order.OrderRollupListener;
+import com.project.demo.logic.entity.order.OrderRollupService;
+import com.project.demo.logic.entity.producto.ProductoSearchIndex;
+import com.project.demo.logic.entity.producto.ProductoSearchIndexListener;
+import com.project.demo.logic.entity.responseCache.ResponseCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * The beans the entities need when a {@code @DataJpaTest} slice loads them: the entity
+ * listeners and what they call, the pooled id allocator and the streaming fetch size. Pair
+ * it with an in-memory H2 URL in MySQL mode, e.g.
+ * {@code jdbc:h2:mem:name;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE}.
+ * <p>
+ * The search index and the category stats load every producto when the context starts,
+ * so the slices get mocks of them; tests of either import the real one.
+ */
+@TestConfiguration
+@Import({CountCache.class, CountCacheInvalidator.class, ProductoSearchIndexListener.class, CategoryStatsListener.class,
+        ResponseCache.class, SimpleMeterRegistry.class, IdAllocator.class, IdGeneratorSeeder.class,
+        JpaBatchingConfig.class, StreamingQueries.class, OrderRollupService.class, OrderRollupListener.class})
+public class PersistenceTestConfig {
+    @MockBean
+    private ProductoSearchIndex productoSearchIndex;
+
+    @MockBean
+    private CategoryStatsRollup categoryStatsRollup;
+}
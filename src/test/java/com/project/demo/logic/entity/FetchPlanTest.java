@@ -0,0 +1,171 @@
+package com.project.demo.logic.entity;
+
+import com.project.demo.PersistenceTestConfig;
+import com.project.demo.logic.entity.category.Category;
+import com.project.demo.logic.entity.category.CategoryRepository;
+import com.project.demo.logic.entity.order.Order;
+import com.project.demo.logic.entity.order.OrderRepository;
+import com.project.demo.logic.entity.producto.Producto;
+import com.project.demo.logic.entity.producto.ProductoRepository;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.rol.RoleRepository;
+import com.project.demo.logic.entity.team.Player;
+import com.project.demo.logic.entity.team.PlayerRepository;
+import com.project.demo.logic.entity.team.Team;
+import com.project.demo.logic.entity.team.TeamRepository;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement counts of the fetch plans the list and detail endpoints rely on: the
+ * {@code @EntityGraph} methods and the streaming queries load their to-one association in
+ * the same query, and the {@code @BatchSize} collections load for a whole page in one more.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PersistenceTestConfig.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class FetchPlanTest {
+    private static final int ROWS = 5;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void productoPageLoadsCategoriesInTheSameQuery() {
+        saveProductos();
+        startCounting();
+
+        Slice<Producto> page = productoRepository.findAllBy(PageRequest.of(0, ROWS));
+        page.forEach(producto -> producto.getCategory().getName());
+
+        assertEquals(ROWS, page.getNumberOfElements());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void productoStreamLoadsCategoriesInTheSameQuery() {
+        saveProductos();
+        startCounting();
+
+        try (Stream<Producto> productos = productoRepository.streamAllBy(PageRequest.of(0, ROWS))) {
+            assertEquals(ROWS, productos.peek(producto -> producto.getCategory().getName()).count());
+        }
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void userPageLoadsEveryUsersOrdersInOneBatch() {
+        Role role = new Role();
+        role.setName(RoleEnum.USER);
+        role.setDescription("User");
+        roleRepository.save(role);
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("secret");
+            user.setRole(role);
+            userRepository.save(user);
+            for (int j = 0; j < 2; j++) {
+                Order order = new Order();
+                order.setUser(user);
+                order.setTotal(10.0);
+                orderRepository.save(order);
+            }
+        }
+        startCounting();
+
+        Slice<User> page = userRepository.findAllBy(PageRequest.of(0, ROWS));
+        page.forEach(user -> user.getRole().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        page.forEach(user -> assertEquals(2, user.getOrders().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void teamLoadsItsPlayersInTheSameQuery() {
+        Team team = new Team("Team", "Stadium", 1900, "Coach", false, null);
+        teamRepository.save(team);
+        for (int i = 0; i < ROWS; i++) {
+            Player player = new Player();
+            player.setName("Player " + i);
+            player.setTeam(team);
+            playerRepository.save(player);
+        }
+        startCounting();
+
+        Team found = teamRepository.findById(team.getId()).orElseThrow();
+
+        assertEquals(ROWS, found.getPlayers().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private void saveProductos() {
+        for (int i = 0; i < ROWS; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            categoryRepository.save(category);
+            Producto producto = new Producto();
+            producto.setName("Producto " + i);
+            producto.setPrice(BigDecimal.ONE);
+            producto.setCategory(category);
+            productoRepository.save(producto);
+        }
+    }
+
+    private void startCounting() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.demo.logic.entity.http;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.demo.MessageConvertersConfig;
+import com.project.demo.PersistenceTestConfig;
+import com.project.demo.logic.entity.order.Order;
+import com.project.demo.logic.entity.order.OrderRepository;
+import com.project.demo.logic.entity.rol.Role;
+import com.project.demo.logic.entity.rol.RoleEnum;
+import com.project.demo.logic.entity.rol.RoleRepository;
+import com.project.demo.logic.entity.user.User;
+import com.project.demo.logic.entity.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PersistenceTestConfig.class, StreamingResponseWriter.class, JacksonAutoConfiguration.class,
+        MessageConvertersConfig.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:streaming;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class StreamingResponseWriterTest {
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StreamingResponseWriter streamingResponseWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Test
+    void streamsUsersWithoutLoadingTheirOrders() throws Exception {
+        saveUsers();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ResponseEntity<StreamingResponseBody> response = streamingResponseWriter.stream("Users retrieved successfully",
+                new Meta("GET", "/users"), HttpStatus.OK, new MockHttpServletRequest("GET", "/users"),
+                () -> userRepository.streamAllBy(PageRequest.of(0, 10)));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        JsonNode users = objectMapper.readTree(body.toByteArray()).get("data");
+        assertEquals(3, users.size());
+        for (JsonNode user : users) {
+            assertTrue(user.has("email"));
+            assertTrue(user.has("role"));
+            assertFalse(user.has("orders"));
+        }
+        assertEquals(0, statistics.getCollectionFetchCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void streamsTheNegotiatedFormat() throws Exception {
+        saveUsers();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.addHeader("Accept", "application/json;q=0.5, application/cbor");
+        ResponseEntity<StreamingResponseBody> response = streamingResponseWriter.stream("Users retrieved successfully",
+                new Meta("GET", "/users"), HttpStatus.OK, request, () -> userRepository.streamAllBy(PageRequest.of(0, 10)));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        JsonNode envelope = cborConverter.getObjectMapper().readTree(body.toByteArray());
+        assertEquals("Users retrieved successfully", envelope.get("message").asText());
+        assertEquals(3, envelope.get("data").size());
+
+        MockHttpServletRequest csv = new MockHttpServletRequest("GET", "/users");
+        csv.addHeader("Accept", "text/csv");
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, streamingResponseWriter.stream("Users retrieved successfully",
+                new Meta("GET", "/users"), HttpStatus.OK, csv, () -> userRepository.streamAllBy(PageRequest.of(0, 10)))
+                .getStatusCode());
+    }
+
+    private void saveUsers() {
+        Role role = new Role();
+        role.setName(RoleEnum.USER);
+        role.setDescription("User");
+        roleRepository.save(role);
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("secret");
+            user.setRole(role);
+            userRepository.save(user);
+            for (int j = 0; j < 2; j++) {
+                Order order = new Order();
+                order.setUser(user);
+                order.setTotal(10.0 + j);
+                orderRepository.save(order);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}